@@ -0,0 +1,92 @@
+package de.tum.attractionservice.benchmark;
+
+import de.tum.attractionservice.importer.AttractionDTO;
+import de.tum.attractionservice.importer.OpeningHoursParser;
+import de.tum.attractionservice.model.AttractionEntity;
+import de.tum.attractionservice.model.CityEntity;
+import de.tum.attractionservice.model.Location;
+import de.tum.attractionservice.model.PhotoEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic, realistically sized inputs shared by the benchmarks (shaped like the records in
+ * {@code server/data/data.json}).
+ */
+final class BenchmarkData {
+
+    static final String DESCRIPTION = "Travel back in time to the age of the Bavarian monarchy: the extensive park "
+            + "with its pavilions, promenades along the palace canals, enormous fountains, magnificent flower "
+            + "gardens and, of course, impressive palace buildings is a source of fascination for Munich natives "
+            + "and tourists alike.";
+
+    private static final String[] DAYS = {
+            "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"
+    };
+
+    private BenchmarkData() {
+    }
+
+    static AttractionDTO dto(int i) {
+        AttractionDTO dto = new AttractionDTO();
+        dto.setName("Nymphenburg Palace " + i);
+        dto.setDescription(DESCRIPTION);
+        dto.setCity(city(i % 50));
+        dto.setCountry("Germany");
+        List<String> hours = new ArrayList<>(DAYS.length);
+        for (String day : DAYS) {
+            hours.add(day + ": 09:00 - 18:00");
+        }
+        dto.setOpeningHours(hours);
+        dto.setPhotos(List.of(
+                "https://picsum.photos/seed/" + i + "-a/800/600",
+                "https://picsum.photos/seed/" + i + "-b/800/600",
+                "https://picsum.photos/seed/" + i + "-c/800/600"));
+        dto.setWebsite("https://www.schloss-nymphenburg.de");
+        dto.setAddress("Schloß Nymphenburg 1, 80638 München");
+        dto.setLatitude(Double.toString(latitude(i)));
+        dto.setLongitude(Double.toString(longitude(i)));
+        return dto;
+    }
+
+    static AttractionEntity entity(long id) {
+        AttractionDTO dto = dto((int) id);
+
+        CityEntity city = new CityEntity();
+        city.setId(id % 50);
+        city.setName(dto.getCity());
+        city.setCountry(dto.getCountry());
+
+        Location location = new Location();
+        location.setId(id);
+        location.setAddress(dto.getAddress());
+        location.setCountry(dto.getCountry());
+        location.setLatitude(dto.getLatitude());
+        location.setLongitude(dto.getLongitude());
+
+        AttractionEntity entity = new AttractionEntity();
+        entity.setId(id);
+        entity.setName(dto.getName());
+        entity.setDescription(dto.getDescription());
+        entity.setCity(city);
+        entity.setLocation(location);
+        entity.setOpeningHours(OpeningHoursParser.parse(dto.getOpeningHours()));
+        entity.setPhotos(dto.getPhotos().stream().map(PhotoEntity::of).toList());
+        entity.setWebsite(dto.getWebsite());
+        return entity;
+    }
+
+    static String city(int i) {
+        return "City " + i;
+    }
+
+    // spread over roughly Europe so radius queries hit a realistic fraction of rows
+    static double latitude(int i) {
+        return 36 + (i * 7919 % 2000) / 100.0;
+    }
+
+    static double longitude(int i) {
+        return -10 + (i * 104729 % 4000) / 100.0;
+    }
+}
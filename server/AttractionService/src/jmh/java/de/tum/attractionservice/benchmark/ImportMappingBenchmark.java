@@ -0,0 +1,74 @@
+package de.tum.attractionservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.tum.attractionservice.importer.AttractionDTO;
+import de.tum.attractionservice.importer.ContentHasher;
+import de.tum.attractionservice.importer.OpeningHoursParser;
+import de.tum.attractionservice.index.MinHash;
+import de.tum.attractionservice.model.OpeningHours;
+import de.tum.attractionservice.model.PhotoUrl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-record CPU cost of the import path outside the database: binding the JSON record, parsing
+ * opening hours and photo URLs, hashing the content and computing the near-duplicate signature.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImportMappingBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AttractionDTO dto;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        dto = BenchmarkData.dto(42);
+        json = objectMapper.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public AttractionDTO bindDto() throws IOException {
+        return objectMapper.readValue(json, AttractionDTO.class);
+    }
+
+    @Benchmark
+    public List<OpeningHours> parseOpeningHours() {
+        return OpeningHoursParser.parse(dto.getOpeningHours());
+    }
+
+    @Benchmark
+    public void parsePhotoUrls(Blackhole blackhole) {
+        for (String url : dto.getPhotos()) {
+            blackhole.consume(PhotoUrl.parse(url).contentHash());
+        }
+    }
+
+    @Benchmark
+    public String contentHash() {
+        return ContentHasher.hash(dto);
+    }
+
+    @Benchmark
+    public int[] minHashSignature() {
+        return MinHash.signature(dto.getName(), dto.getDescription());
+    }
+}
@@ -0,0 +1,107 @@
+package de.tum.attractionservice.benchmark;
+
+import de.tum.attractionservice.index.CatalogReadModel;
+import de.tum.attractionservice.index.LongIntHashMap;
+import de.tum.attractionservice.index.MinHash;
+import de.tum.attractionservice.index.NearDuplicateIndex;
+import de.tum.attractionservice.index.WeeklySchedule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups against the in-memory indexes at catalog scale: the primitive-array read model, its id map
+ * and the near-duplicate LSH index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IndexBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"100000"})
+    public int attractions;
+
+    private CatalogReadModel readModel;
+    private LongIntHashMap slots;
+    private NearDuplicateIndex nearDuplicates;
+    private long[] probeIds;
+    private int[][] probeSignatures;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // the repository is only used by rebuild(), which the benchmark never calls
+        readModel = new CatalogReadModel(null, new SimpleMeterRegistry());
+        slots = new LongIntHashMap(attractions);
+        nearDuplicates = new NearDuplicateIndex();
+        for (int i = 0; i < attractions; i++) {
+            long id = i + 1;
+            String name = "Attraction " + i;
+            double latitude = BenchmarkData.latitude(i);
+            double longitude = BenchmarkData.longitude(i);
+            readModel.upsert(id, i % 50, name, latitude, longitude, new long[WeeklySchedule.WORDS]);
+            slots.put(id, i);
+            nearDuplicates.put(id, name, MinHash.signature(name, BenchmarkData.DESCRIPTION + " " + i),
+                    latitude, longitude);
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        probeIds = new long[PROBES];
+        probeSignatures = new int[PROBES][];
+        for (int i = 0; i < PROBES; i++) {
+            int row = random.nextInt(attractions);
+            probeIds[i] = row + 1;
+            probeSignatures[i] = MinHash.signature("The Attraction " + row, BenchmarkData.DESCRIPTION + " " + row);
+        }
+    }
+
+    private int nextProbe() {
+        return next++ & (PROBES - 1);
+    }
+
+    @Benchmark
+    public String readModelNameOf() {
+        return readModel.nameOf(probeIds[nextProbe()]);
+    }
+
+    @Benchmark
+    public long[] readModelIdsInCity() {
+        return readModel.idsInCity(probeIds[nextProbe()] % 50);
+    }
+
+    @Benchmark
+    public long[] readModelIdsWithinRadius() {
+        int row = (int) probeIds[nextProbe()] - 1;
+        return readModel.idsWithinRadius(BenchmarkData.latitude(row), BenchmarkData.longitude(row), 10);
+    }
+
+    @Benchmark
+    public int longIntMapGet() {
+        return slots.get(probeIds[nextProbe()]);
+    }
+
+    @Benchmark
+    public NearDuplicateIndex.Match nearDuplicateFindBest() {
+        int probe = nextProbe();
+        int row = (int) probeIds[probe] - 1;
+        return nearDuplicates.findBest(probeSignatures[probe],
+                BenchmarkData.latitude(row), BenchmarkData.longitude(row), 0.6, 1.0);
+    }
+}
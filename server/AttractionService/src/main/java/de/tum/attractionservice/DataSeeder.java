@@ -4,13 +4,13 @@ import net.datafaker.Faker;
 import de.tum.attractionservice.model.*;
 import de.tum.attractionservice.repository.AttractionRepository;
 import de.tum.attractionservice.repository.CityRepository;
+import de.tum.attractionservice.service.PhotoStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.net.MalformedURLException;
-import java.net.URL;
 import java.time.DayOfWeek;
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
@@ -26,10 +26,12 @@ public class DataSeeder implements CommandLineRunner {
 
     private final AttractionRepository attractionRepo;
     private final CityRepository cityRepo;
+    private final PhotoStore photoStore;
 
     private final Faker faker = new Faker();
 
     @Override
+    @Transactional
     public void run(String... args) throws Exception {
 
         if (attractionRepo.count() > 0) {
@@ -71,7 +73,7 @@ public class DataSeeder implements CommandLineRunner {
         return cities;
     }
 
-    private AttractionEntity buildRandomAttraction(CityEntity city, int idx) throws MalformedURLException {
+    private AttractionEntity buildRandomAttraction(CityEntity city, int idx) {
         AttractionEntity a = new AttractionEntity();
         a.setName(faker.company().catchPhrase() + " " + idx);
         a.setDescription(faker.lorem().sentence(15));
@@ -98,10 +100,10 @@ public class DataSeeder implements CommandLineRunner {
         }
         a.setOpeningHours(hoursList);
 
-        // Photos
-        a.setPhotos(List.of(
+        // Photos (stored once in the shared photo table, however often they repeat)
+        a.setPhotos(photoStore.resolve(List.of(
                 randomPic(), randomPic(), randomPic()
-        ));
+        )));
 
         // Website
         a.setWebsite("https://" + faker.internet().domainName());
@@ -113,7 +115,7 @@ public class DataSeeder implements CommandLineRunner {
         return Double.toString(ThreadLocalRandom.current().nextDouble(min, max));
     }
 
-    private URL randomPic() throws MalformedURLException {
-        return new URL("https://picsum.photos/800/600");
+    private PhotoUrl randomPic() {
+        return PhotoUrl.parse("https://picsum.photos/800/600");
     }
 }
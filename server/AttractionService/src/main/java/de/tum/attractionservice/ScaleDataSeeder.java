@@ -0,0 +1,527 @@
+package de.tum.attractionservice;
+
+import de.tum.attractionservice.cache.CatalogResponseCache;
+import de.tum.attractionservice.cache.CityCache;
+import de.tum.attractionservice.index.CityCatalog;
+import de.tum.attractionservice.model.PhotoUrl;
+import de.tum.attractionservice.repository.AttractionRepository;
+import de.tum.attractionservice.repository.DatabaseDialect;
+import de.tum.attractionservice.service.PhotoStore;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Seeds a production-sized catalog for performance work: N cities, M attractions whose distribution
+ * over cities follows a Zipf law, photos drawn with a power-law skew from a shared pool, and varying
+ * description lengths and opening hours. Everything derives from one seed, so two runs with the same
+ * settings produce the same catalog.
+ *
+ * <p>Chunks of attractions are generated in parallel (each from its own seed-derived random stream)
+ * and written in order, one transaction per chunk: with Postgres through the {@code COPY} protocol
+ * using ids reserved from the identity sequences, elsewhere (H2 in tests) through JDBC batches.
+ * Rows are written below JPA and outside the change feed; caches and in-memory indexes pick them up
+ * on their startup rebuild.
+ *
+ * <p>Enable with {@code application.seeder.scale.enabled=true}; runs before {@link DataSeeder},
+ * which then finds a non-empty catalog and skips.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ScaleDataSeeder implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ScaleDataSeeder.class);
+
+    private static final String[] DAYS = {
+            "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"
+    };
+    private static final String[] COUNTRIES = {
+            "Germany", "France", "Italy", "Spain", "United Kingdom", "United States", "Japan", "Brazil",
+            "Austria", "Netherlands", "Portugal", "Greece", "Mexico", "Canada", "Australia", "India"
+    };
+    private static final String[] SYLLABLES = {
+            "al", "ber", "burg", "ca", "dor", "el", "fen", "gar", "hal", "is", "kir", "lin", "mar",
+            "nor", "os", "por", "ri", "sal", "ten", "um", "val", "wen", "zo", "stadt", "ton", "via"
+    };
+    private static final String[] ADJECTIVES = {
+            "Old", "Royal", "Grand", "Little", "Hidden", "Upper", "Lower", "Golden", "Silent", "Ancient",
+            "Modern", "Green", "Blue", "Imperial", "Historic", "New", "Northern", "Southern"
+    };
+    private static final String[] NOUNS = {
+            "Palace", "Museum", "Garden", "Cathedral", "Bridge", "Tower", "Market", "Gallery", "Park",
+            "Castle", "Square", "Theatre", "Fountain", "Harbour", "Library", "Chapel", "Observatory"
+    };
+    private static final String[] WORDS = {
+            "visitors", "history", "century", "built", "famous", "view", "collection", "architecture",
+            "city", "river", "art", "local", "tour", "unique", "baroque", "gothic", "square", "festival",
+            "summer", "winter", "family", "walk", "guided", "exhibition", "restored", "original", "hall",
+            "garden", "tower", "market", "royal", "modern", "panorama", "cafe", "evening", "light"
+    };
+
+    /** Size and shape of a generated catalog. */
+    public record Spec(int cities, int attractions, long seed, double citySkew, int batchSize, int threads) {
+    }
+
+    /** What a run wrote. */
+    public record Result(int cities, long attractions, int photos, long millis) {
+    }
+
+    private record City(String name, String country, double latitude, double longitude) {
+    }
+
+    private static final class Chunk {
+        final int size;
+        final String[] names;
+        final String[] descriptions;
+        final String[] addresses;
+        final String[] countries;
+        final String[] latitudes;
+        final String[] longitudes;
+        final String[] websites;
+        final int[] cities;
+        final int[][] photos;
+        final String[][] hours; // per attraction: day, from, to, day, from, to, ...
+
+        Chunk(int size) {
+            this.size = size;
+            names = new String[size];
+            descriptions = new String[size];
+            addresses = new String[size];
+            countries = new String[size];
+            latitudes = new String[size];
+            longitudes = new String[size];
+            websites = new String[size];
+            cities = new int[size];
+            photos = new int[size][];
+            hours = new String[size][];
+        }
+    }
+
+    private final AttractionRepository attractionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+    private final PhotoStore photoStore;
+    private final CatalogResponseCache responseCache;
+    private final CityCache cityCache;
+    private final CityCatalog cityCatalog;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${application.seeder.scale.enabled:false}")
+    private boolean enabled;
+
+    @Value("${application.seeder.scale.cities:200}")
+    private int cities;
+
+    @Value("${application.seeder.scale.attractions:1000000}")
+    private int attractions;
+
+    @Value("${application.seeder.scale.seed:42}")
+    private long seed;
+
+    @Value("${application.seeder.scale.city-skew:1.1}")
+    private double citySkew;
+
+    @Value("${application.seeder.scale.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${application.seeder.scale.threads:0}")
+    private int threads;
+
+    public ScaleDataSeeder(AttractionRepository attractionRepository,
+                           JdbcTemplate jdbcTemplate,
+                           DatabaseDialect dialect,
+                           PhotoStore photoStore,
+                           CatalogResponseCache responseCache,
+                           CityCache cityCache,
+                           CityCatalog cityCatalog,
+                           PlatformTransactionManager transactionManager) {
+        this.attractionRepository = attractionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+        this.photoStore = photoStore;
+        this.responseCache = responseCache;
+        this.cityCache = cityCache;
+        this.cityCatalog = cityCatalog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            return;
+        }
+        if (attractionRepository.count() > 0) {
+            log.info("Attractions already exist, skipping scale seeding");
+            return;
+        }
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        seed(new Spec(cities, attractions, seed, citySkew, batchSize, workers));
+    }
+
+    /**
+     * Generates and writes the catalog described by {@code spec}. Joins a surrounding transaction if
+     * there is one (tests roll the data back that way), otherwise commits chunk by chunk.
+     */
+    public Result seed(Spec spec) {
+        long started = System.nanoTime();
+        List<City> cityRows = generateCities(spec);
+        long[] cityIds = transactionTemplate.execute(status -> insertCities(cityRows));
+        double[] cityCdf = zipfCdf(spec.cities(), spec.citySkew());
+
+        int photoPool = Math.max(16, spec.attractions() / 20);
+        List<PhotoUrl> pool = new ArrayList<>(photoPool);
+        for (int i = 0; i < photoPool; i++) {
+            pool.add(PhotoUrl.parse("https://picsum.photos/seed/" + spec.seed() + "-" + i + "/800/600"));
+        }
+        String[] photoIds = new String[photoPool];
+        for (int i = 0; i < photoPool; i++) {
+            photoIds[i] = pool.get(i).contentHash();
+        }
+        transactionTemplate.executeWithoutResult(status -> photoStore.resolve(pool));
+
+        boolean copy = dialect.isPostgres();
+        int chunks = (spec.attractions() + spec.batchSize() - 1) / spec.batchSize();
+        ExecutorService generators = Executors.newFixedThreadPool(Math.max(1, spec.threads()));
+        try {
+            Deque<Future<Chunk>> inFlight = new ArrayDeque<>();
+            for (int c = 0; c < chunks; c++) {
+                int chunkIndex = c;
+                inFlight.add(generators.submit(() -> generateChunk(spec, chunkIndex, cityRows, cityCdf, photoPool)));
+                // bounded look-ahead: generation overlaps with writing without buffering the whole catalog
+                if (inFlight.size() > 2 * spec.threads()) {
+                    write(await(inFlight.poll()), cityIds, photoIds, copy);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                write(await(inFlight.poll()), cityIds, photoIds, copy);
+            }
+        } finally {
+            generators.shutdownNow();
+        }
+        responseCache.invalidateAll();
+        cityCache.evictQueriesAfterCommit();
+        cityCatalog.refreshAfterCommit();
+
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Seeded {} attractions across {} cities in {} ms", spec.attractions(), spec.cities(), millis);
+        return new Result(spec.cities(), spec.attractions(), photoPool, millis);
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /* Generation                                                             */
+    /* ---------------------------------------------------------------------- */
+
+    private static List<City> generateCities(Spec spec) {
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        Set<String> names = new HashSet<>();
+        List<City> result = new ArrayList<>(spec.cities());
+        for (int i = 0; i < spec.cities(); i++) {
+            StringBuilder name = new StringBuilder();
+            int syllables = 2 + random.nextInt(2);
+            for (int s = 0; s < syllables; s++) {
+                name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+            String unique = names.add(name.toString()) ? name.toString() : name + " " + (i + 1);
+            names.add(unique);
+            result.add(new City(unique, COUNTRIES[random.nextInt(COUNTRIES.length)],
+                    random.nextDouble(-55, 70), random.nextDouble(-180, 180)));
+        }
+        return result;
+    }
+
+    // cumulative Zipf weights: the city of rank k receives a share proportional to 1 / k^skew
+    private static double[] zipfCdf(int n, double skew) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1 / Math.pow(k + 1, skew);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+        return cdf;
+    }
+
+    private static Chunk generateChunk(Spec spec, int chunkIndex, List<City> cities, double[] cityCdf, int photoPool) {
+        // one independent stream per chunk keeps the output identical whatever the thread count
+        SplittableRandom random = new SplittableRandom(spec.seed() * 0x9E3779B97F4A7C15L + chunkIndex);
+        int first = chunkIndex * spec.batchSize();
+        Chunk chunk = new Chunk(Math.min(spec.batchSize(), spec.attractions() - first));
+
+        for (int i = 0; i < chunk.size; i++) {
+            int number = first + i + 1;
+            int city = Arrays.binarySearch(cityCdf, random.nextDouble());
+            city = Math.min(cities.size() - 1, city < 0 ? -city - 1 : city);
+            City c = cities.get(city);
+
+            chunk.cities[i] = city;
+            chunk.names[i] = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + NOUNS[random.nextInt(NOUNS.length)] + " " + number;
+
+            // mostly short descriptions with a long tail
+            double u = random.nextDouble();
+            int words = 8 + (int) (150 * u * u * u);
+            StringBuilder description = new StringBuilder(words * 8);
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    description.append(' ');
+                }
+                description.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            chunk.descriptions[i] = description.append('.').toString();
+
+            chunk.addresses[i] = (1 + random.nextInt(200)) + " " + NOUNS[random.nextInt(NOUNS.length)] + " Street, " + c.name();
+            chunk.countries[i] = c.country();
+            chunk.latitudes[i] = Double.toString(c.latitude() + random.nextGaussian() * 0.05);
+            chunk.longitudes[i] = Double.toString(c.longitude() + random.nextGaussian() * 0.05);
+            chunk.websites[i] = "https://attraction-" + number + ".example.com";
+
+            // popular placeholder photos are shared by many attractions
+            int[] photos = new int[1 + random.nextInt(6)];
+            for (int p = 0; p < photos.length; p++) {
+                double v = random.nextDouble();
+                photos[p] = (int) (photoPool * v * v * v);
+            }
+            chunk.photos[i] = photos;
+
+            List<String> hours = new ArrayList<>(21);
+            for (String day : DAYS) {
+                if (random.nextInt(10) == 0) {
+                    continue; // closed
+                }
+                hours.add(day);
+                hours.add(String.format("%02d:00", 7 + random.nextInt(4)));
+                hours.add(String.format("%02d:00", 16 + random.nextInt(7)));
+            }
+            chunk.hours[i] = hours.toArray(String[]::new);
+        }
+        return chunk;
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /* Writing                                                                */
+    /* ---------------------------------------------------------------------- */
+
+    private long[] insertCities(List<City> rows) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO cities (name, country, latitude, longitude) SELECT ?, ?, ?, ? "
+                        + "WHERE NOT EXISTS (SELECT 1 FROM cities WHERE name = ?)",
+                rows, 1000, (ps, city) -> {
+                    ps.setString(1, city.name());
+                    ps.setString(2, city.country());
+                    ps.setDouble(3, city.latitude());
+                    ps.setDouble(4, city.longitude());
+                    ps.setString(5, city.name());
+                });
+        Map<String, Long> idsByName = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM cities", rs -> {
+            idsByName.put(rs.getString(2), rs.getLong(1));
+        });
+        long[] ids = new long[rows.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = idsByName.get(rows.get(i).name());
+        }
+        return ids;
+    }
+
+    private void write(Chunk chunk, long[] cityIds, String[] photoIds, boolean copy) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (copy) {
+                writeWithCopy(connection, chunk, cityIds, photoIds);
+            } else {
+                writeWithBatches(connection, chunk, cityIds, photoIds);
+            }
+            return null;
+        }));
+    }
+
+    private static void writeWithCopy(Connection connection, Chunk chunk, long[] cityIds, String[] photoIds)
+            throws SQLException {
+        long[] locationIds = reserveIds(connection, "location", chunk.size);
+        long[] attractionIds = reserveIds(connection, "attractions", chunk.size);
+
+        StringBuilder locations = new StringBuilder(chunk.size * 96);
+        StringBuilder attractions = new StringBuilder(chunk.size * 512);
+        StringBuilder hours = new StringBuilder(chunk.size * 160);
+        StringBuilder photos = new StringBuilder(chunk.size * 160);
+        for (int i = 0; i < chunk.size; i++) {
+            csv(locations, locationIds[i], chunk.addresses[i], chunk.countries[i], chunk.latitudes[i], chunk.longitudes[i]);
+            csv(attractions, attractionIds[i], chunk.names[i], chunk.descriptions[i], locationIds[i],
+                    cityIds[chunk.cities[i]], chunk.websites[i]);
+            String[] h = chunk.hours[i];
+            for (int d = 0; d < h.length; d += 3) {
+                csv(hours, attractionIds[i], h[d], h[d + 1], h[d + 2]);
+            }
+            int[] p = chunk.photos[i];
+            for (int position = 0; position < p.length; position++) {
+                csv(photos, attractionIds[i], photoIds[p[position]], position);
+            }
+        }
+
+        try {
+            var copyApi = connection.unwrap(PGConnection.class).getCopyAPI();
+            copyApi.copyIn("COPY location (id, address, country, latitude, longitude) FROM STDIN (FORMAT csv)",
+                    new StringReader(locations.toString()));
+            copyApi.copyIn("COPY attractions (id, name, description, location_id, city_id, website) FROM STDIN (FORMAT csv)",
+                    new StringReader(attractions.toString()));
+            copyApi.copyIn("COPY opening_hours (id, day_of_week, from_time, to_time) FROM STDIN (FORMAT csv)",
+                    new StringReader(hours.toString()));
+            copyApi.copyIn("COPY attraction_photos (attraction_id, photo_id, position) FROM STDIN (FORMAT csv)",
+                    new StringReader(photos.toString()));
+        } catch (IOException e) {
+            throw new SQLException("COPY failed", e);
+        }
+    }
+
+    private static void writeWithBatches(Connection connection, Chunk chunk, long[] cityIds, String[] photoIds)
+            throws SQLException {
+        long[] locationIds;
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO location (address, country, latitude, longitude) VALUES (?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < chunk.size; i++) {
+                ps.setString(1, chunk.addresses[i]);
+                ps.setString(2, chunk.countries[i]);
+                ps.setString(3, chunk.latitudes[i]);
+                ps.setString(4, chunk.longitudes[i]);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            locationIds = generatedKeys(ps, chunk.size);
+        }
+
+        long[] attractionIds;
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO attractions (name, description, location_id, city_id, website) VALUES (?, ?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < chunk.size; i++) {
+                ps.setString(1, chunk.names[i]);
+                ps.setString(2, chunk.descriptions[i]);
+                ps.setLong(3, locationIds[i]);
+                ps.setLong(4, cityIds[chunk.cities[i]]);
+                ps.setString(5, chunk.websites[i]);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            attractionIds = generatedKeys(ps, chunk.size);
+        }
+
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO opening_hours (id, day_of_week, from_time, to_time) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < chunk.size; i++) {
+                String[] h = chunk.hours[i];
+                for (int d = 0; d < h.length; d += 3) {
+                    ps.setLong(1, attractionIds[i]);
+                    ps.setString(2, h[d]);
+                    ps.setString(3, h[d + 1]);
+                    ps.setString(4, h[d + 2]);
+                    ps.addBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO attraction_photos (attraction_id, photo_id, position) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < chunk.size; i++) {
+                int[] p = chunk.photos[i];
+                for (int position = 0; position < p.length; position++) {
+                    ps.setLong(1, attractionIds[i]);
+                    ps.setString(2, photoIds[p[position]]);
+                    ps.setInt(3, position);
+                    ps.addBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // ids drawn from the identity sequence stay consistent with rows inserted later through JPA
+    private static long[] reserveIds(Connection connection, String table, int count) throws SQLException {
+        long[] ids = new long[count];
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)")) {
+            ps.setString(1, table);
+            ps.setInt(2, count);
+            try (ResultSet rs = ps.executeQuery()) {
+                for (int i = 0; rs.next(); i++) {
+                    ids[i] = rs.getLong(1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static long[] generatedKeys(PreparedStatement ps, int count) throws SQLException {
+        long[] ids = new long[count];
+        int n = 0;
+        try (ResultSet rs = ps.getGeneratedKeys()) {
+            while (rs.next()) {
+                ids[n++] = rs.getLong(1);
+            }
+        }
+        if (n != count) {
+            throw new SQLException("Expected " + count + " generated keys, got " + n);
+        }
+        return ids;
+    }
+
+    private static void csv(StringBuilder out, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            String value = String.valueOf(values[i]);
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0) {
+                out.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                out.append(value);
+            }
+        }
+        out.append('\n');
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating seed data", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Generating seed data failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package de.tum.attractionservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds already-serialized JSON (and optionally gzipped) bodies of the hot catalog pages,
+ * keyed by the normalized query. A hit is a map lookup plus a copy to the servlet output stream.
+ * Any attraction or city write drops the whole cache.
+ */
+@Component
+public class CatalogResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    // bumped on every invalidation so a response rendered from pre-write data is never stored
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter invalidationCounter;
+
+    @Value("${application.cache.catalog-responses.enabled:true}")
+    private boolean enabled;
+
+    @Value("${application.cache.catalog-responses.max-page:3}")
+    private int maxPage;
+
+    @Value("${application.cache.catalog-responses.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${application.cache.catalog-responses.max-entries:512}")
+    private int maxEntries;
+
+    @Value("${application.cache.catalog-responses.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    public CatalogResponseCache(ObjectMapper objectMapper, MeterRegistry registry) {
+        this.objectMapper = objectMapper;
+
+        this.hitCounter = Counter
+                .builder("attraction_service_response_cache_hits_total")
+                .description("Catalog responses served from pre-serialized bytes")
+                .register(registry);
+        this.missCounter = Counter
+                .builder("attraction_service_response_cache_misses_total")
+                .description("Catalog responses that had to be serialized")
+                .register(registry);
+        this.invalidationCounter = Counter
+                .builder("attraction_service_response_cache_invalidations_total")
+                .description("Number of times the catalog response cache was cleared by a write")
+                .register(registry);
+        Gauge.builder("attraction_service_response_cache_entries", entries, ConcurrentHashMap::size)
+                .description("Number of cached catalog responses")
+                .register(registry);
+    }
+
+    public static String key(String scope, Pageable pageable) {
+        return scope + "?page=" + pageable.getPageNumber()
+                + "&size=" + pageable.getPageSize()
+                + "&sort=" + pageable.getSort().toString().replace(" ", "");
+    }
+
+    /**
+     * Writes the response for {@code key}, serializing the result of {@code loader} on a miss.
+     * Only the first {@code max-page} pages with a bounded page size are stored.
+     */
+    public void write(String key,
+                      Pageable pageable,
+                      HttpServletRequest request,
+                      HttpServletResponse response,
+                      Supplier<?> loader) throws IOException {
+        write(key, isCacheable(pageable), Long.MAX_VALUE, request, response, loader);
+    }
+
+    /**
+     * Variant for unpaged responses whose content also depends on the clock: the entry is stored until
+     * {@code expiresAt} or the next write, whichever comes first.
+     */
+    public void write(String key,
+                      Instant expiresAt,
+                      HttpServletRequest request,
+                      HttpServletResponse response,
+                      Supplier<?> loader) throws IOException {
+        write(key, true, expiresAt.toEpochMilli(), request, response, loader);
+    }
+
+    private void write(String key,
+                       boolean cacheable,
+                       long expiresAtMillis,
+                       HttpServletRequest request,
+                       HttpServletResponse response,
+                       Supplier<?> loader) throws IOException {
+        CachedResponse cached = enabled ? entries.get(key) : null;
+        if (cached != null && cached.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key, cached);
+            cached = null;
+        }
+        if (cached != null) {
+            hitCounter.increment();
+        } else {
+            missCounter.increment();
+            long observedGeneration = generation.get();
+            cached = render(loader.get(), expiresAtMillis);
+            if (enabled && cacheable && entries.size() < maxEntries
+                    && generation.get() == observedGeneration) {
+                entries.put(key, cached);
+                // a write may have raced in between the check and the put
+                if (generation.get() != observedGeneration) {
+                    entries.remove(key, cached);
+                }
+            }
+        }
+        send(cached, request, response);
+    }
+
+    /**
+     * Drops every cached response. Inside a transaction the cache is cleared again after commit,
+     * otherwise a reader between the two points could cache the pre-commit state.
+     */
+    public void invalidateAll() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+        invalidationCounter.increment();
+    }
+
+    private boolean isCacheable(Pageable pageable) {
+        return pageable.getPageNumber() < maxPage && pageable.getPageSize() <= maxPageSize;
+    }
+
+    private CachedResponse render(Object body, long expiresAtMillis) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        byte[] gzip = null;
+        if (json.length >= gzipMinBytes) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+                out.write(json);
+            }
+            gzip = buffer.toByteArray();
+        }
+        return new CachedResponse(json, gzip, expiresAtMillis);
+    }
+
+    private void send(CachedResponse cached, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        byte[] body = cached.json();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (cached.gzip() != null && acceptsGzip(request)) {
+            body = cached.gzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return accept != null && accept.toLowerCase().contains("gzip");
+    }
+
+    private record CachedResponse(byte[] json, byte[] gzip, long expiresAtMillis) {
+    }
+}
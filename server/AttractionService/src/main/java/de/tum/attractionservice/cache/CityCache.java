@@ -0,0 +1,38 @@
+package de.tum.attractionservice.cache;
+
+import de.tum.attractionservice.index.IndexPatcher;
+import de.tum.attractionservice.model.CityEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Explicit invalidation of the second-level cache regions of {@link CityEntity}. Hibernate keeps the
+ * regions consistent for writes made through the persistence context, but cities inserted with plain
+ * JDBC (the import resolver, the scale seeder) bypass it, and a cached "no such city" query result
+ * would otherwise outlive them until the region's TTL. Evictions run after commit, so a concurrent
+ * reader cannot put the old state back in between.
+ */
+@Component
+public class CityCache {
+
+    private final Cache cache;
+
+    public CityCache(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    /** Drops the cached row of one city and every cached city query once the transaction commits. */
+    public void evictAfterCommit(Long cityId) {
+        IndexPatcher.afterCommit(() -> {
+            cache.evictEntityData(CityEntity.class, cityId);
+            cache.evictQueryRegion(CityEntity.QUERY_CACHE_REGION);
+        });
+    }
+
+    /** Drops every cached city query once the transaction commits; cached rows stay valid. */
+    public void evictQueriesAfterCommit() {
+        IndexPatcher.afterCommit(() -> cache.evictQueryRegion(CityEntity.QUERY_CACHE_REGION));
+    }
+}
@@ -1,18 +1,40 @@
 package de.tum.attractionservice.controller;
 
+import de.tum.attractionservice.cache.CatalogResponseCache;
+import de.tum.attractionservice.embedding.AttractionEmbedding;
+import de.tum.attractionservice.embedding.EmbeddingIndex;
+import de.tum.attractionservice.embedding.SemanticSearchRequest;
+import de.tum.attractionservice.export.AttractionViews;
+import de.tum.attractionservice.export.ColumnarExportResult;
+import de.tum.attractionservice.export.SimilarAttraction;
+import de.tum.attractionservice.image.CatalogImageInfo;
+import de.tum.attractionservice.image.CatalogImageWriter;
 import de.tum.attractionservice.importer.AttractionDTO;
+import de.tum.attractionservice.importer.ImportMode;
+import de.tum.attractionservice.importer.ImportResult;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import de.tum.attractionservice.model.AttractionEntity;
+import de.tum.attractionservice.ranking.Ranking;
+import de.tum.attractionservice.ranking.RankingEngine;
+import de.tum.attractionservice.ranking.RankingQuery;
 import de.tum.attractionservice.service.AttractionService;
+import de.tum.attractionservice.service.CatalogSnapshotService;
+import de.tum.attractionservice.service.ColumnarExportService;
+import de.tum.attractionservice.service.SimilarAttractionService;
+import de.tum.attractionservice.service.ViewCounterService;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
 
 
@@ -20,31 +42,85 @@ import java.util.List;
 @RequestMapping("/attractions")
 public class AttractionController {
     private final AttractionService attractionService;
+    private final CatalogResponseCache responseCache;
+    private final CatalogSnapshotService snapshotService;
+    private final ColumnarExportService columnarExportService;
+    private final CatalogImageWriter catalogImageWriter;
+    private final SimilarAttractionService similarAttractionService;
+    private final EmbeddingIndex embeddingIndex;
+    private final RankingEngine rankingEngine;
+    private final ViewCounterService viewCounter;
 
     @Autowired
-    public AttractionController(AttractionService attractionService) {
+    public AttractionController(AttractionService attractionService,
+                                CatalogResponseCache responseCache,
+                                CatalogSnapshotService snapshotService,
+                                ColumnarExportService columnarExportService,
+                                CatalogImageWriter catalogImageWriter,
+                                SimilarAttractionService similarAttractionService,
+                                EmbeddingIndex embeddingIndex,
+                                RankingEngine rankingEngine,
+                                ViewCounterService viewCounter) {
         this.attractionService = attractionService;
+        this.responseCache = responseCache;
+        this.snapshotService = snapshotService;
+        this.columnarExportService = columnarExportService;
+        this.catalogImageWriter = catalogImageWriter;
+        this.similarAttractionService = similarAttractionService;
+        this.embeddingIndex = embeddingIndex;
+        this.rankingEngine = rankingEngine;
+        this.viewCounter = viewCounter;
     }
 
     @GetMapping
-    public ResponseEntity<Page<AttractionEntity>> getAllAttractions(
+    public void getAllAttractions(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "name") String sortBy) {
-        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(sortBy));
-        Page<AttractionEntity> attractions = attractionService.getAllAttractions(pageRequest);
-        return new ResponseEntity<>(attractions, HttpStatus.OK);
+            @RequestParam(defaultValue = "name") String sortBy,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(sortBy.trim()));
+        responseCache.write(CatalogResponseCache.key("all", pageRequest), pageRequest, request, response,
+                () -> attractionService.getAllAttractions(pageRequest));
     }
 
     @GetMapping("/city/{city}")
-    public ResponseEntity<Page<AttractionEntity>> getAttractionsByCity(
+    public void getAttractionsByCity(
             @PathVariable String city,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "name") String sortBy) {
-        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(sortBy));
-        Page<AttractionEntity> attractions = attractionService.getAttractionsByCity(city, pageRequest);
-        return new ResponseEntity<>(attractions, HttpStatus.OK);
+            @RequestParam(defaultValue = "name") String sortBy,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(sortBy.trim()));
+        responseCache.write(CatalogResponseCache.key("city:" + city, pageRequest), pageRequest, request, response,
+                () -> attractionService.getAttractionsByCity(city, pageRequest));
+    }
+
+    @GetMapping("/ranked")
+    public ResponseEntity<?> getRankedAttractions(
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long cityId,
+            @RequestParam(defaultValue = "20") int limit) {
+        if ((latitude == null) != (longitude == null)) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body("latitude and longitude must be given together.");
+        }
+        Ranking ranking = rankingEngine.rank(new RankingQuery(latitude, longitude, q, cityId, Instant.now()), limit);
+        return ResponseEntity.ok(ranking);
+    }
+
+    @GetMapping("/snapshot")
+    public void getCatalogSnapshot(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"attractions.ndjson.gz\"");
+        snapshotService.writeSnapshot(response.getOutputStream());
     }
 
     @GetMapping("/{name}")
@@ -61,12 +137,30 @@ public class AttractionController {
     public ResponseEntity<AttractionEntity> getAttractionById(@PathVariable Long id) {
         AttractionEntity attraction = attractionService.getAttractionById(id);
         if (attraction != null) {
+            viewCounter.record(id);
             return new ResponseEntity<>(attraction, HttpStatus.OK);
         } else {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
 
+    @GetMapping("/id/{id}/views")
+    public ResponseEntity<AttractionViews> getAttractionViews(@PathVariable Long id) {
+        return viewCounter.getViews(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/id/{id}/similar")
+    public ResponseEntity<List<SimilarAttraction>> getSimilarAttractions(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "false") boolean sameCity) {
+        return similarAttractionService.findSimilar(id, limit, sameCity)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @PostMapping
     public ResponseEntity<?> saveAttraction(@RequestBody AttractionEntity attraction) {
         if (attraction.getId() != null) {
@@ -80,11 +174,40 @@ public class AttractionController {
     }
 
     @PostMapping("/list")
-    public ResponseEntity<String> saveAllAttractions(@RequestBody List<AttractionDTO> attractionDTOS) {
-        attractionService.saveAll(attractionDTOS);
-        return ResponseEntity.status(HttpStatus.CREATED).build();
+    public ResponseEntity<ImportResult> saveAllAttractions(@RequestBody List<AttractionDTO> attractionDTOS,
+                                                           @RequestParam(defaultValue = "INSERT") ImportMode mode) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(attractionService.saveAll(attractionDTOS, mode));
+    }
+
+
+    @PostMapping("/embeddings")
+    public ResponseEntity<?> saveEmbeddings(@RequestBody List<AttractionEmbedding> embeddings) throws IOException {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(embeddingIndex.upsert(embeddings));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
 
+    @PostMapping("/semantic-search")
+    public ResponseEntity<?> semanticSearch(@RequestBody SemanticSearchRequest request) {
+        int limit = request.limit() == null ? 10 : request.limit();
+        try {
+            return ResponseEntity.ok(embeddingIndex.search(request.vector(), limit, request.cityId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/exports/columnar")
+    public ResponseEntity<ColumnarExportResult> exportColumnar() throws IOException {
+        return ResponseEntity.status(HttpStatus.CREATED).body(columnarExportService.exportCatalog());
+    }
+
+    @PostMapping("/exports/image")
+    public ResponseEntity<CatalogImageInfo> buildCatalogImage() throws IOException {
+        return ResponseEntity.status(HttpStatus.CREATED).body(catalogImageWriter.write());
+    }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAttraction(@PathVariable Long id) {
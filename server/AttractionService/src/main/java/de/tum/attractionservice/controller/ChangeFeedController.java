@@ -0,0 +1,32 @@
+package de.tum.attractionservice.controller;
+
+import de.tum.attractionservice.export.ChangeFeedPage;
+import de.tum.attractionservice.service.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/changes")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    @Autowired
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    @GetMapping
+    public ResponseEntity<ChangeFeedPage> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit) {
+        if (since < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(changeFeedService.getChanges(since, limit));
+    }
+}
@@ -1,13 +1,24 @@
 package de.tum.attractionservice.controller;
 
+import de.tum.attractionservice.cache.CatalogResponseCache;
+import de.tum.attractionservice.export.CityPage;
+import de.tum.attractionservice.export.CityStats;
+import de.tum.attractionservice.export.CityView;
 import de.tum.attractionservice.model.CityEntity;
+import de.tum.attractionservice.service.CityOverviewService;
 import de.tum.attractionservice.service.CityService;
+import de.tum.attractionservice.service.CityStatisticsService;
+import de.tum.attractionservice.service.TrendingService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.io.IOException;
+import java.time.Instant;
 import java.util.Optional;
 
 @RestController
@@ -15,16 +26,37 @@ import java.util.Optional;
 public class CityController {
 
     private final CityService cityService;
+    private final CityStatisticsService cityStatisticsService;
+    private final CityOverviewService cityOverviewService;
+    private final CatalogResponseCache responseCache;
+    private final TrendingService trendingService;
 
     @Autowired
-    public CityController(CityService cityService) {
+    public CityController(CityService cityService,
+                          CityStatisticsService cityStatisticsService,
+                          CityOverviewService cityOverviewService,
+                          CatalogResponseCache responseCache,
+                          TrendingService trendingService) {
         this.cityService = cityService;
+        this.cityStatisticsService = cityStatisticsService;
+        this.cityOverviewService = cityOverviewService;
+        this.responseCache = responseCache;
+        this.trendingService = trendingService;
     }
 
     
     @GetMapping
-    public ResponseEntity<List<CityEntity>> getAllCities() {
-        return ResponseEntity.ok(cityService.getAllCities());
+    public ResponseEntity<CityPage> getCities(
+            @RequestParam(required = false) String country,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int size,
+            WebRequest request) {
+        CityPage page = cityService.getCities(country, after, size);
+        // same snapshot and same query string means the same body
+        if (request.checkNotModified(page.version())) {
+            return null;
+        }
+        return ResponseEntity.ok(page);
     }
 
     
@@ -36,6 +68,50 @@ public class CityController {
     }
 
     
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<CityStats> getCityStats(@PathVariable Long id) {
+        return cityStatisticsService.getStats(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    
+    @GetMapping("/{id}/overview")
+    public void getCityOverview(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Optional<CityView> city = cityOverviewService.findCity(id);
+        if (city.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        int bounded = Math.max(1, Math.min(limit, CityOverviewService.MAX_ATTRACTIONS));
+        Instant now = Instant.now();
+        responseCache.write("city-overview:" + id + "?limit=" + bounded, CityOverviewService.validUntil(now),
+                request, response, () -> cityOverviewService.getOverview(city.get(), bounded, now));
+    }
+
+    
+    @GetMapping("/{id}/trending")
+    public ResponseEntity<?> getTrendingAttractions(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1h") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        Optional<TrendingService.Window> parsed = TrendingService.Window.parse(window);
+        if (parsed.isEmpty()) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body("window must be 1h or 24h.");
+        }
+        if (cityOverviewService.findCity(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(trendingService.trending(id, parsed.get(), limit));
+    }
+
+    
     @PostMapping
     public ResponseEntity<CityEntity> createCity(@RequestBody CityEntity city) {
         CityEntity saved = cityService.createCity(city);
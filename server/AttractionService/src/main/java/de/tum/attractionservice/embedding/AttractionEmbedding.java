@@ -0,0 +1,5 @@
+package de.tum.attractionservice.embedding;
+
+/** A precomputed embedding for one attraction, as posted to the ingestion endpoint. */
+public record AttractionEmbedding(Long attractionId, float[] vector) {
+}
@@ -0,0 +1,359 @@
+package de.tum.attractionservice.embedding;
+
+import de.tum.attractionservice.index.CatalogReadModel;
+import de.tum.attractionservice.index.IndexPatcher;
+import de.tum.attractionservice.index.LongIntHashMap;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Approximate nearest-neighbour search over precomputed attraction embeddings. Vectors are kept in a
+ * memory-mapped {@link VectorFile} and survive restarts; the {@link HnswGraph} over them is rebuilt
+ * once the application is ready. Vectors are normalized on ingestion, so scores are cosine similarities.
+ *
+ * <p>Replaced and removed vectors stay in the file and the graph as tombstones. Once they outnumber half
+ * the live vectors, the file is compacted and the graph relinked, the same rule {@code TfIdfIndex} uses
+ * for its dead slots, so neither grows without bound between restarts.
+ *
+ * <p>A city filter matching few attractions is answered by an exact scan of that city's vectors, since
+ * a graph walk that rejects almost every node visits most of the graph anyway.
+ */
+@Component
+public class EmbeddingIndex {
+
+    public static final int MAX_RESULTS = 100;
+
+    // tombstones tolerated regardless of the live count, so small indexes are not relinked on every change
+    private static final int MIN_REMOVED_BEFORE_COMPACTION = 1024;
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddingIndex.class);
+
+    private final CatalogReadModel readModel;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private VectorFile vectors;
+    private HnswGraph graph;
+    private LongIntHashMap slotById = new LongIntHashMap(16);
+
+    private final Timer searchTimer;
+
+    @Value("${application.embeddings.path:embeddings/attractions.vec}")
+    private String path;
+
+    @Value("${application.embeddings.m:16}")
+    private int m;
+
+    @Value("${application.embeddings.ef-construction:100}")
+    private int efConstruction;
+
+    @Value("${application.embeddings.ef-search:64}")
+    private int efSearch;
+
+    @Value("${application.embeddings.exact-search-below:2000}")
+    private int exactSearchBelow;
+
+    public EmbeddingIndex(CatalogReadModel readModel, JdbcTemplate jdbcTemplate, MeterRegistry registry) {
+        this.readModel = readModel;
+        this.jdbcTemplate = jdbcTemplate;
+
+        this.searchTimer = Timer
+                .builder("attraction_service_semantic_search_duration_seconds")
+                .description("Time to answer one semantic search from the embedded vector index")
+                .register(registry);
+        Gauge.builder("attraction_service_embeddings", this, EmbeddingIndex::size)
+                .description("Attractions with an embedding in the vector index")
+                .register(registry);
+        Gauge.builder("attraction_service_embedding_graph_bytes", this, EmbeddingIndex::graphSizeInBytes)
+                .description("Estimated heap used by the HNSW graph links")
+                .register(registry);
+    }
+
+    /**
+     * Opens the vector file, drops vectors of attractions deleted while the service was down, compacts
+     * the file if anything was dropped and links every vector into a fresh graph.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() throws IOException {
+        long started = System.nanoTime();
+        LongIntHashMap existing = new LongIntHashMap(1024);
+        jdbcTemplate.query("SELECT id FROM attractions", rs -> {
+            existing.put(rs.getLong(1), 1);
+        });
+
+        lock.writeLock().lock();
+        try {
+            VectorFile file = VectorFile.open(Path.of(path).toAbsolutePath());
+            LongIntHashMap seen = new LongIntHashMap(Math.max(16, file.count()));
+            int dropped = 0;
+            // the newest vector of an attraction wins; older ones are already tombstoned unless a crash intervened
+            for (int slot = file.count() - 1; slot >= 0; slot--) {
+                long id = file.idAt(slot);
+                if (id == VectorFile.REMOVED) {
+                    dropped++;
+                } else if (existing.get(id) == LongIntHashMap.MISSING || seen.get(id) != LongIntHashMap.MISSING) {
+                    file.markRemoved(slot);
+                    dropped++;
+                } else {
+                    seen.put(id, slot);
+                }
+            }
+            if (dropped > 0) {
+                file = VectorFile.compact(file);
+            }
+            if (vectors != null) {
+                vectors.close();
+            }
+            link(file);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Embedding index loaded with {} vectors in {} ms",
+                slotById.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Adds or replaces embeddings. Vectors of unknown attractions are skipped; a vector of the wrong
+     * dimension, or one without direction, rejects the whole batch.
+     */
+    public EmbeddingIngestResult upsert(List<AttractionEmbedding> embeddings) throws IOException {
+        lock.writeLock().lock();
+        try {
+            requireLoaded();
+            int dimension = vectors.dimension();
+            List<float[]> normalized = new ArrayList<>(embeddings.size());
+            for (AttractionEmbedding embedding : embeddings) {
+                if (embedding.attractionId() == null) {
+                    throw new IllegalArgumentException("Embedding without attractionId");
+                }
+                float[] unit = normalize(embedding.vector());
+                if (dimension == 0) {
+                    dimension = unit.length;
+                } else if (unit.length != dimension) {
+                    throw new IllegalArgumentException("Embedding of attraction " + embedding.attractionId()
+                            + " has " + unit.length + " dimensions, expected " + dimension);
+                }
+                normalized.add(unit);
+            }
+
+            int accepted = 0;
+            int unknown = 0;
+            for (int i = 0; i < embeddings.size(); i++) {
+                long id = embeddings.get(i).attractionId();
+                if (!readModel.contains(id)) {
+                    unknown++;
+                    continue;
+                }
+                removeLocked(id);
+                int slot = vectors.append(id, normalized.get(i));
+                graph.insert(slot);
+                slotById.put(id, slot);
+                accepted++;
+            }
+            vectors.force();
+            compactIfSparse();
+            return new EmbeddingIngestResult(accepted, unknown, vectors.dimension(), slotById.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Drops the attraction's embedding once the surrounding transaction commits. */
+    public void removeAfterCommit(long id) {
+        IndexPatcher.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (vectors != null) {
+                    removeLocked(id);
+                    compactIfSparse();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * The {@code limit} attractions whose embeddings are closest to {@code vector}, best first,
+     * optionally only from one city.
+     */
+    public List<SemanticMatch> search(float[] vector, int limit, Long cityId) {
+        float[] query = normalize(vector);
+        int k = Math.max(1, Math.min(limit, MAX_RESULTS));
+        // resolved before taking our lock so the two locks are never held together
+        long[] cityIds = cityId == null ? null : readModel.idsInCity(cityId);
+        List<Neighbour> neighbours = searchTimer.record(() -> {
+            lock.readLock().lock();
+            try {
+                requireLoaded();
+                if (vectors.dimension() != 0 && query.length != vectors.dimension()) {
+                    throw new IllegalArgumentException("Query vector has " + query.length
+                            + " dimensions, expected " + vectors.dimension());
+                }
+                if (cityIds != null && cityIds.length <= exactSearchBelow) {
+                    return exactSearch(query, k, cityIds);
+                }
+                BitSet allowed = null;
+                if (cityIds != null) {
+                    allowed = new BitSet(vectors.count());
+                    for (long id : cityIds) {
+                        int slot = slotById.get(id);
+                        if (slot != LongIntHashMap.MISSING) {
+                            allowed.set(slot);
+                        }
+                    }
+                }
+                BitSet filter = allowed;
+                long[] found = graph.search(query, k, Math.max(efSearch, k), slot -> filter == null
+                        ? vectors.idAt(slot) != VectorFile.REMOVED
+                        : filter.get(slot));
+                List<Neighbour> result = new ArrayList<>(found.length);
+                for (long encoded : found) {
+                    int slot = HnswGraph.slotOf(encoded);
+                    result.add(new Neighbour(vectors.idAt(slot), 1.0 - HnswGraph.distanceOf(encoded)));
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+        List<SemanticMatch> result = new ArrayList<>(neighbours.size());
+        for (Neighbour neighbour : neighbours) {
+            String name = readModel.nameOf(neighbour.id());
+            // skip the rare attraction deleted between the two lookups
+            if (name != null) {
+                result.add(new SemanticMatch(neighbour.id(), name, neighbour.score()));
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (vectors != null) {
+                vectors.force();
+                vectors.close();
+                vectors = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long graphSizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return graph == null ? 0 : graph.sizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Neighbour> exactSearch(float[] query, int k, long[] ids) {
+        List<Neighbour> scored = new ArrayList<>();
+        for (long id : ids) {
+            int slot = slotById.get(id);
+            if (slot != LongIntHashMap.MISSING) {
+                scored.add(new Neighbour(id, vectors.dot(slot, query)));
+            }
+        }
+        scored.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return scored.size() <= k ? scored : new ArrayList<>(scored.subList(0, k));
+    }
+
+    // rewrites the file without tombstones and relinks the graph, so removed vectors stop being routed through
+    private void compactIfSparse() {
+        int live = slotById.size();
+        int removed = vectors.count() - live;
+        if (removed <= Math.max(MIN_REMOVED_BEFORE_COMPACTION, live / 2)) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            link(VectorFile.compact(vectors));
+        } catch (IOException e) {
+            // the tombstoned records are still filtered from results; the next change or restart retries
+            log.warn("Compacting the embedding file failed", e);
+            return;
+        }
+        log.info("Embedding index compacted {} removed vectors in {} ms",
+                removed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // links every vector of the file into a fresh graph and makes both current
+    private void link(VectorFile file) {
+        HnswGraph rebuilt = new HnswGraph(file, m, efConstruction);
+        LongIntHashMap slots = new LongIntHashMap(Math.max(16, file.count()));
+        for (int slot = 0; slot < file.count(); slot++) {
+            rebuilt.insert(slot);
+            slots.put(file.idAt(slot), slot);
+        }
+        vectors = file;
+        graph = rebuilt;
+        slotById = slots;
+    }
+
+    private void removeLocked(long id) {
+        int slot = slotById.remove(id);
+        if (slot != LongIntHashMap.MISSING) {
+            vectors.markRemoved(slot);
+        }
+    }
+
+    private void requireLoaded() {
+        if (vectors == null) {
+            throw new IllegalStateException("Embedding index is not loaded yet");
+        }
+    }
+
+    private record Neighbour(long id, double score) {
+    }
+
+    private static float[] normalize(float[] vector) {
+        if (vector == null || vector.length == 0) {
+            throw new IllegalArgumentException("Vector must not be empty");
+        }
+        double sum = 0;
+        for (float value : vector) {
+            if (!Float.isFinite(value)) {
+                throw new IllegalArgumentException("Vector contains a non-finite value");
+            }
+            sum += (double) value * value;
+        }
+        if (sum == 0) {
+            throw new IllegalArgumentException("Vector must not be all zeros");
+        }
+        float scale = (float) (1 / Math.sqrt(sum));
+        float[] unit = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            unit[i] = vector[i] * scale;
+        }
+        return unit;
+    }
+}
@@ -0,0 +1,8 @@
+package de.tum.attractionservice.embedding;
+
+/**
+ * Outcome of one embedding upload: vectors indexed, vectors skipped because the attraction does not
+ * exist, the index dimension and the number of attractions now holding an embedding.
+ */
+public record EmbeddingIngestResult(int accepted, int unknownAttractions, int dimension, int indexed) {
+}
@@ -0,0 +1,361 @@
+package de.tum.attractionservice.embedding;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+/**
+ * Hierarchical navigable small world graph (Malkov and Yashunin) over the slots of a {@link VectorFile},
+ * using cosine distance on unit vectors. Links are primitive int arrays on the heap; vectors are read
+ * from the mapped file. Slots are never unlinked: removed vectors stay routable and are filtered from
+ * results, until the owner rebuilds the graph from a compacted file. Not thread-safe; concurrent
+ * searches are fine as long as no insert runs.
+ */
+public final class HnswGraph {
+
+    private final VectorFile vectors;
+    private final int m;
+    private final int m0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private int[] levels = new int[1024];
+    // level 0 links: block of m0 + 1 ints per slot, count first
+    private int[] layer0;
+    // levels 1..L: block of m + 1 ints per level, count first; null for level-0-only slots
+    private int[][] upper = new int[1024][];
+    private int size;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswGraph(VectorFile vectors, int m, int efConstruction) {
+        this.vectors = vectors;
+        this.m = m;
+        this.m0 = 2 * m;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(m);
+        this.layer0 = new int[levels.length * (m0 + 1)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Links the vector stored at {@code slot}; slots must be inserted in file order. */
+    public void insert(int slot) {
+        if (slot != size) {
+            throw new IllegalStateException("Expected slot " + size + " but got " + slot);
+        }
+        if (slot == levels.length) {
+            grow(levels.length * 2);
+        }
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+        levels[slot] = level;
+        upper[slot] = level == 0 ? null : new int[level * (m + 1)];
+        size++;
+        if (entryPoint < 0) {
+            entryPoint = slot;
+            maxLevel = level;
+            return;
+        }
+
+        float[] query = vectors.read(slot, new float[vectors.dimension()]);
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedy(query, current, l);
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            long[] candidates = searchLayer(query, current, efConstruction, l, s -> true);
+            int[] neighbours = selectNeighbours(candidates, l == 0 ? m0 : m);
+            for (int neighbour : neighbours) {
+                link(slot, neighbour, l);
+                link(neighbour, slot, l);
+            }
+            current = slotOf(candidates[0]);
+        }
+        if (level > maxLevel) {
+            entryPoint = slot;
+            maxLevel = level;
+        }
+    }
+
+    /**
+     * Up to {@code k} accepted slots closest to {@code query}, closest first, as
+     * {@link #encode encoded} distance/slot pairs. {@code ef} bounds the candidate list.
+     */
+    public long[] search(float[] query, int k, int ef, IntPredicate accept) {
+        if (entryPoint < 0) {
+            return new long[0];
+        }
+        int current = entryPoint;
+        for (int l = maxLevel; l > 0; l--) {
+            current = greedy(query, current, l);
+        }
+        long[] found = searchLayer(query, current, Math.max(ef, k), 0, accept);
+        return found.length <= k ? found : Arrays.copyOf(found, k);
+    }
+
+    public long sizeInBytes() {
+        long bytes = (long) levels.length * Integer.BYTES + (long) layer0.length * Integer.BYTES;
+        for (int s = 0; s < size; s++) {
+            if (upper[s] != null) {
+                bytes += upper[s].length * (long) Integer.BYTES + 16;
+            }
+        }
+        return bytes + upper.length * 8L;
+    }
+
+    /** Distance in the high half (non-negative floats order like their bits), slot in the low half. */
+    public static long encode(float distance, int slot) {
+        return ((long) Float.floatToRawIntBits(Math.max(0f, distance)) << 32) | (slot & 0xFFFFFFFFL);
+    }
+
+    public static float distanceOf(long encoded) {
+        return Float.intBitsToFloat((int) (encoded >>> 32));
+    }
+
+    public static int slotOf(long encoded) {
+        return (int) encoded;
+    }
+
+    private float distance(float[] query, int slot) {
+        return 1f - vectors.dot(slot, query);
+    }
+
+    private int greedy(float[] query, int start, int level) {
+        int current = start;
+        float best = distance(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] block = links(current, level);
+            int base = base(current, level);
+            for (int i = 1; i <= block[base]; i++) {
+                int neighbour = block[base + i];
+                float d = distance(query, neighbour);
+                if (d < best) {
+                    best = d;
+                    current = neighbour;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    // returns the closest accepted slots found, closest first
+    private long[] searchLayer(float[] query, int entry, int ef, int level, IntPredicate accept) {
+        // sized by the walk, which scales with ef rather than with the graph
+        Visited seen = new Visited(ef * 4);
+        LongHeap candidates = new LongHeap(ef * 2);
+        LongHeap results = new LongHeap(ef + 1); // max-heap through negated keys
+
+        long start = encode(distance(query, entry), entry);
+        seen.mark(entry);
+        candidates.push(start);
+        if (accept.test(entry)) {
+            results.push(-start);
+        }
+        while (candidates.size() > 0) {
+            long closest = candidates.pop();
+            if (results.size() >= ef && distanceOf(closest) > distanceOf(-results.peek())) {
+                break;
+            }
+            int node = slotOf(closest);
+            int[] block = links(node, level);
+            int base = base(node, level);
+            for (int i = 1; i <= block[base]; i++) {
+                int neighbour = block[base + i];
+                if (!seen.mark(neighbour)) {
+                    continue;
+                }
+                long encoded = encode(distance(query, neighbour), neighbour);
+                if (results.size() < ef || distanceOf(encoded) < distanceOf(-results.peek())) {
+                    candidates.push(encoded);
+                    if (accept.test(neighbour)) {
+                        results.push(-encoded);
+                        if (results.size() > ef) {
+                            results.pop();
+                        }
+                    }
+                }
+            }
+        }
+        long[] sorted = new long[results.size()];
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            sorted[i] = -results.pop();
+        }
+        return sorted;
+    }
+
+    // heuristic of the HNSW paper: keep a candidate only if it is closer to the new node than to every
+    // neighbour kept so far, which spreads links across directions instead of one dense cluster
+    private int[] selectNeighbours(long[] candidates, int max) {
+        int[] selected = new int[Math.min(max, candidates.length)];
+        int n = 0;
+        float[] candidateVector = new float[vectors.dimension()];
+        for (long candidate : candidates) {
+            if (n == selected.length) {
+                break;
+            }
+            int slot = slotOf(candidate);
+            vectors.read(slot, candidateVector);
+            boolean keep = true;
+            for (int i = 0; i < n && keep; i++) {
+                keep = distance(candidateVector, selected[i]) >= distanceOf(candidate);
+            }
+            if (keep) {
+                selected[n++] = slot;
+            }
+        }
+        return Arrays.copyOf(selected, n);
+    }
+
+    private void link(int from, int to, int level) {
+        int[] block = links(from, level);
+        int base = base(from, level);
+        int max = level == 0 ? m0 : m;
+        int count = block[base];
+        if (count < max) {
+            block[base + 1 + count] = to;
+            block[base] = count + 1;
+            return;
+        }
+        // full: re-select among the existing links plus the new one, as seen from {@code from}
+        float[] origin = vectors.read(from, new float[vectors.dimension()]);
+        long[] candidates = new long[count + 1];
+        for (int i = 0; i < count; i++) {
+            int neighbour = block[base + 1 + i];
+            candidates[i] = encode(distance(origin, neighbour), neighbour);
+        }
+        candidates[count] = encode(distance(origin, to), to);
+        Arrays.sort(candidates);
+        int[] kept = selectNeighbours(candidates, max);
+        block[base] = kept.length;
+        System.arraycopy(kept, 0, block, base + 1, kept.length);
+    }
+
+    private int[] links(int slot, int level) {
+        return level == 0 ? layer0 : upper[slot];
+    }
+
+    private int base(int slot, int level) {
+        return level == 0 ? slot * (m0 + 1) : (level - 1) * (m + 1);
+    }
+
+    private void grow(int capacity) {
+        levels = Arrays.copyOf(levels, capacity);
+        layer0 = Arrays.copyOf(layer0, capacity * (m0 + 1));
+        upper = Arrays.copyOf(upper, capacity);
+    }
+
+    /**
+     * Open-addressing set of the slots one search visited. It grows with the walk rather than the graph,
+     * so concurrent searches do not each hold an array as large as the catalog.
+     */
+    private static final class Visited {
+        private static final int EMPTY = -1;
+
+        private int[] slots;
+        private int size;
+        private int mask;
+
+        Visited(int expectedSize) {
+            allocate(Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1);
+        }
+
+        /** Returns false if the slot was already visited in this search. */
+        boolean mark(int slot) {
+            int i = home(slot);
+            while (slots[i] != EMPTY) {
+                if (slots[i] == slot) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            slots[i] = slot;
+            if (++size * 2 > slots.length) {
+                int[] old = slots;
+                allocate(old.length << 1);
+                for (int s : old) {
+                    if (s != EMPTY) {
+                        int j = home(s);
+                        while (slots[j] != EMPTY) {
+                            j = (j + 1) & mask;
+                        }
+                        slots[j] = s;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private int home(int slot) {
+            int h = slot * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        private void allocate(int capacity) {
+            slots = new int[capacity];
+            Arrays.fill(slots, EMPTY);
+            mask = capacity - 1;
+        }
+    }
+
+    /** Binary min-heap of longs. */
+    private static final class LongHeap {
+        private long[] heap;
+        private int size;
+
+        LongHeap(int capacity) {
+            heap = new long[Math.max(4, capacity)];
+        }
+
+        int size() {
+            return size;
+        }
+
+        long peek() {
+            return heap[0];
+        }
+
+        void push(long value) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= value) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = value;
+        }
+
+        long pop() {
+            long top = heap[0];
+            long last = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[child] >= last) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package de.tum.attractionservice.embedding;
+
+/** An attraction whose embedding is close to the query vector; {@code score} is the cosine similarity. */
+public record SemanticMatch(Long id, String name, double score) {
+}
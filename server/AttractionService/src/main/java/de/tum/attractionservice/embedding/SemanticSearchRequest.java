@@ -0,0 +1,5 @@
+package de.tum.attractionservice.embedding;
+
+/** Query vector for a semantic search; {@code cityId} and {@code limit} are optional. */
+public record SemanticSearchRequest(float[] vector, Long cityId, Integer limit) {
+}
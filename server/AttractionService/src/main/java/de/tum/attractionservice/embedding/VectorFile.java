@@ -0,0 +1,220 @@
+package de.tum.attractionservice.embedding;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only, memory-mapped file of unit-length float vectors keyed by attraction id. Vectors live in
+ * the page cache rather than on the heap; readers use absolute reads only. Replaced or removed vectors
+ * are tombstoned in place and dropped by {@link #compact}. Not thread-safe for writers; the owner
+ * serializes appends against reads with its own lock.
+ *
+ * <pre>
+ * header   64 bytes        magic, version, dimension, record count (little-endian)
+ * records  n * (8 + 4d)    attraction id (or -1 once removed), then d floats
+ * </pre>
+ *
+ * Records are mapped in chunks of at most 1 GB, since a single {@link MappedByteBuffer} cannot exceed 2 GB.
+ */
+public final class VectorFile implements Closeable {
+
+    public static final long REMOVED = -1;
+
+    private static final int MAGIC = 0x56454331; // "VEC1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_DIMENSION = 8;
+    private static final int H_COUNT = 12;
+    private static final long CHUNK_BYTES = 1L << 30;
+    private static final int INITIAL_CHUNK_RECORDS = 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private int dimension;
+    private int recordBytes;
+    private int recordsPerChunk;
+    private int count;
+    private final List<MappedByteBuffer> chunks = new ArrayList<>();
+    // records the last chunk currently maps; it is remapped larger when full
+    private int lastChunkCapacity;
+
+    private VectorFile(Path path, FileChannel channel) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        this.header = map(0, HEADER_SIZE);
+        if (channel.size() > HEADER_SIZE || header.getInt(H_MAGIC) == MAGIC) {
+            if (header.getInt(H_MAGIC) != MAGIC || header.getInt(H_VERSION) != VERSION) {
+                throw new IOException("Not a vector file: " + path);
+            }
+            setDimension(header.getInt(H_DIMENSION));
+            count = header.getInt(H_COUNT);
+            if (dimension > 0) {
+                for (int chunk = 0; (long) chunk * recordsPerChunk < count; chunk++) {
+                    int records = Math.min(recordsPerChunk, count - chunk * recordsPerChunk);
+                    chunks.add(map(chunkOffset(chunk), (long) records * recordBytes));
+                    lastChunkCapacity = records;
+                }
+            }
+        } else {
+            header.putInt(H_MAGIC, MAGIC);
+            header.putInt(H_VERSION, VERSION);
+        }
+    }
+
+    public static VectorFile open(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return new VectorFile(path, FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+    }
+
+    /**
+     * Rewrites the file without removed records and returns it reopened. The original is replaced
+     * atomically, so a crash leaves either the old or the new file.
+     */
+    public static VectorFile compact(VectorFile source) throws IOException {
+        Path target = source.path.resolveSibling(source.path.getFileName() + ".compacting");
+        Files.deleteIfExists(target);
+        float[] vector = new float[source.dimension];
+        try (VectorFile compacted = open(target)) {
+            for (int slot = 0; slot < source.count; slot++) {
+                long id = source.idAt(slot);
+                if (id != REMOVED) {
+                    compacted.append(id, source.read(slot, vector));
+                }
+            }
+            compacted.force();
+        }
+        source.close();
+        Files.move(target, source.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return open(source.path);
+    }
+
+    /** Vector length, or 0 until the first vector is appended. */
+    public int dimension() {
+        return dimension;
+    }
+
+    /** Records in the file, removed ones included. */
+    public int count() {
+        return count;
+    }
+
+    public long idAt(int slot) {
+        return chunk(slot).getLong(offset(slot));
+    }
+
+    /** Appends a vector, which fixes the file's dimension if it is the first; returns its slot. */
+    public int append(long id, float[] vector) throws IOException {
+        if (dimension == 0) {
+            setDimension(vector.length);
+            header.putInt(H_DIMENSION, dimension);
+        } else if (vector.length != dimension) {
+            throw new IllegalArgumentException("Expected " + dimension + " dimensions but got " + vector.length);
+        }
+        int slot = count;
+        ensureCapacity(slot);
+        MappedByteBuffer chunk = chunk(slot);
+        int offset = offset(slot);
+        chunk.putLong(offset, id);
+        offset += Long.BYTES;
+        for (float value : vector) {
+            chunk.putFloat(offset, value);
+            offset += Float.BYTES;
+        }
+        count = slot + 1;
+        header.putInt(H_COUNT, count);
+        return slot;
+    }
+
+    public void markRemoved(int slot) {
+        chunk(slot).putLong(offset(slot), REMOVED);
+    }
+
+    public float[] read(int slot, float[] into) {
+        MappedByteBuffer chunk = chunk(slot);
+        int offset = offset(slot) + Long.BYTES;
+        for (int i = 0; i < dimension; i++) {
+            into[i] = chunk.getFloat(offset + i * Float.BYTES);
+        }
+        return into;
+    }
+
+    public float dot(int slot, float[] query) {
+        MappedByteBuffer chunk = chunk(slot);
+        int offset = offset(slot) + Long.BYTES;
+        float sum = 0;
+        for (int i = 0; i < dimension; i++) {
+            sum += chunk.getFloat(offset + i * Float.BYTES) * query[i];
+        }
+        return sum;
+    }
+
+    /** Flushes written records to disk. */
+    public void force() {
+        header.force();
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+
+    public long sizeInBytes() {
+        return HEADER_SIZE + (long) count * recordBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void setDimension(int dimension) {
+        this.dimension = dimension;
+        this.recordBytes = Long.BYTES + dimension * Float.BYTES;
+        this.recordsPerChunk = dimension == 0 ? 0 : (int) (CHUNK_BYTES / recordBytes);
+    }
+
+    private void ensureCapacity(int slot) throws IOException {
+        int chunkIndex = slot / recordsPerChunk;
+        int inChunk = slot % recordsPerChunk;
+        if (chunkIndex == chunks.size()) {
+            lastChunkCapacity = Math.min(recordsPerChunk, INITIAL_CHUNK_RECORDS);
+            chunks.add(map(chunkOffset(chunkIndex), (long) lastChunkCapacity * recordBytes));
+        } else if (inChunk >= lastChunkCapacity) {
+            lastChunkCapacity = (int) Math.min(recordsPerChunk, 2L * lastChunkCapacity);
+            chunks.set(chunkIndex, map(chunkOffset(chunkIndex), (long) lastChunkCapacity * recordBytes));
+        }
+    }
+
+    private MappedByteBuffer map(long position, long size) throws IOException {
+        // READ_WRITE mappings past the end of the file extend it
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private long chunkOffset(int chunk) {
+        return HEADER_SIZE + (long) chunk * recordsPerChunk * recordBytes;
+    }
+
+    private MappedByteBuffer chunk(int slot) {
+        return chunks.get(slot / recordsPerChunk);
+    }
+
+    private int offset(int slot) {
+        return (slot % recordsPerChunk) * recordBytes;
+    }
+}
@@ -0,0 +1,19 @@
+package de.tum.attractionservice.export;
+
+/**
+ * Flat, unmanaged view of one attraction joined with its city and location.
+ * One row becomes one NDJSON line of the catalog snapshot.
+ */
+public record AttractionSnapshotRow(
+        Long id,
+        String name,
+        String description,
+        String website,
+        Long cityId,
+        String cityName,
+        String cityCountry,
+        String address,
+        String country,
+        String latitude,
+        String longitude) {
+}
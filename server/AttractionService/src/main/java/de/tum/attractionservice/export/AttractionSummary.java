@@ -0,0 +1,27 @@
+package de.tum.attractionservice.export;
+
+import de.tum.attractionservice.model.PhotoUrl;
+
+/**
+ * What a city page shows for one attraction: enough to render a card without a detail request.
+ * The description is shortened and only the first photo is included.
+ */
+public record AttractionSummary(
+        Long id,
+        String name,
+        String description,
+        String website,
+        String address,
+        String latitude,
+        String longitude,
+        PhotoUrl coverPhoto) {
+
+    public AttractionSummary(Long id, String name, String description, String website,
+                             String address, String latitude, String longitude) {
+        this(id, name, description, website, address, latitude, longitude, null);
+    }
+
+    public AttractionSummary withCoverPhoto(PhotoUrl photo) {
+        return new AttractionSummary(id, name, description, website, address, latitude, longitude, photo);
+    }
+}
@@ -0,0 +1,5 @@
+package de.tum.attractionservice.export;
+
+/** Views of an attraction's detail page: persisted total plus views not yet flushed from memory. */
+public record AttractionViews(Long id, long views) {
+}
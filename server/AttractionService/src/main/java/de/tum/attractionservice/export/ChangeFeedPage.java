@@ -0,0 +1,12 @@
+package de.tum.attractionservice.export;
+
+import de.tum.attractionservice.model.ChangeEventEntity;
+
+import java.util.List;
+
+/**
+ * One page of the change feed. Pass {@code nextCursor} as {@code since} to continue;
+ * when {@code hasMore} is false the consumer is caught up.
+ */
+public record ChangeFeedPage(List<ChangeEventEntity> changes, long nextCursor, boolean hasMore) {
+}
@@ -0,0 +1,13 @@
+package de.tum.attractionservice.export;
+
+import java.util.List;
+
+/**
+ * Everything a city page needs in one response: the city, its aggregates and the first attractions
+ * in listing order.
+ */
+public record CityOverview(
+        CityView city,
+        CityStats stats,
+        List<AttractionSummary> attractions) {
+}
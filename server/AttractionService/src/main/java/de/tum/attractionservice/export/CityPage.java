@@ -0,0 +1,11 @@
+package de.tum.attractionservice.export;
+
+import java.util.List;
+
+/**
+ * One page of the city catalog, ordered by id. Pass {@code nextCursor} as {@code after} to continue;
+ * when {@code hasMore} is false the listing is complete. {@code version} identifies the catalog
+ * snapshot the page was cut from and doubles as the response ETag.
+ */
+public record CityPage(List<CityView> cities, Long nextCursor, boolean hasMore, String version) {
+}
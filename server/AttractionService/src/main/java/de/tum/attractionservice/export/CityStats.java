@@ -0,0 +1,20 @@
+package de.tum.attractionservice.export;
+
+/**
+ * Aggregates over a city's attractions. Centroid and bounding box cover the attractions with valid
+ * coordinates and are null when there are none; the open-now share covers the attractions with
+ * opening hours and is null when there are none.
+ */
+public record CityStats(
+        long cityId,
+        int attractions,
+        Double centroidLatitude,
+        Double centroidLongitude,
+        Double minLatitude,
+        Double minLongitude,
+        Double maxLatitude,
+        Double maxLongitude,
+        int withOpeningHours,
+        int openNow,
+        Double openNowShare) {
+}
@@ -0,0 +1,8 @@
+package de.tum.attractionservice.export;
+
+/**
+ * Immutable copy of a city row as held by the in-memory city catalog. Serializes like
+ * {@code CityEntity}.
+ */
+public record CityView(Long id, String name, String country, String description, Double latitude, Double longitude) {
+}
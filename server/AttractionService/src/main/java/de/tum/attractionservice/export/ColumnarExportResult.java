@@ -0,0 +1,7 @@
+package de.tum.attractionservice.export;
+
+/**
+ * Outcome of one columnar export run.
+ */
+public record ColumnarExportResult(String file, long rows, int batches, long bytes) {
+}
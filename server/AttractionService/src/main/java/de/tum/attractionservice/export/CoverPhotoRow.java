@@ -0,0 +1,7 @@
+package de.tum.attractionservice.export;
+
+import de.tum.attractionservice.model.PhotoUrl;
+
+/** First photo of an attraction, as loaded for a page of {@link AttractionSummary} rows. */
+public record CoverPhotoRow(Long attractionId, PhotoUrl url) {
+}
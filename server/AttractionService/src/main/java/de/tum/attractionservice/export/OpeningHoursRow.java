@@ -0,0 +1,7 @@
+package de.tum.attractionservice.export;
+
+/**
+ * One opening-hours entry of an attraction, streamed when the read model rebuilds its schedules.
+ */
+public record OpeningHoursRow(Long attractionId, String day, String fromTime, String toTime) {
+}
@@ -0,0 +1,5 @@
+package de.tum.attractionservice.export;
+
+/** An attraction whose text resembles the requested one; {@code score} is the cosine similarity in [0, 1]. */
+public record SimilarAttraction(Long id, String name, Long cityId, double score) {
+}
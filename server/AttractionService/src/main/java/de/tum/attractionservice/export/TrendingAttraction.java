@@ -0,0 +1,5 @@
+package de.tum.attractionservice.export;
+
+/** An attraction trending in a city; {@code views} is a sketch estimate that may overcount slightly. */
+public record TrendingAttraction(Long id, String name, long views) {
+}
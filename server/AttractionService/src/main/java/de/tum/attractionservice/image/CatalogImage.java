@@ -0,0 +1,132 @@
+package de.tum.attractionservice.image;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static de.tum.attractionservice.image.CatalogImageFormat.*;
+
+/**
+ * Read-only, memory-mapped view of a catalog image. Lookups use absolute reads only, so one
+ * instance can be shared by all request threads; returned buffers are slices of the mapping.
+ */
+public final class CatalogImage {
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final int recordCount;
+    private final int recordsOffset;
+    private final int nameIndexOffset;
+    private final int poolOffset;
+    private final long createdAt;
+
+    private CatalogImage(Path path, ByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(H_MAGIC) != MAGIC) {
+            throw new IOException("Not a catalog image: " + path);
+        }
+        if (buffer.getInt(H_VERSION) != VERSION || buffer.getInt(H_RECORD_SIZE) != RECORD_SIZE) {
+            throw new IOException("Unsupported catalog image version in " + path);
+        }
+        this.recordCount = buffer.getInt(H_RECORD_COUNT);
+        this.recordsOffset = (int) buffer.getLong(H_RECORDS_OFFSET);
+        this.nameIndexOffset = (int) buffer.getLong(H_NAME_INDEX_OFFSET);
+        this.poolOffset = (int) buffer.getLong(H_POOL_OFFSET);
+        this.createdAt = buffer.getLong(H_CREATED_AT);
+        if ((long) poolOffset + buffer.getLong(H_POOL_LENGTH) != buffer.capacity()) {
+            throw new IOException("Truncated catalog image: " + path);
+        }
+    }
+
+    public static CatalogImage open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Catalog image larger than 2 GB: " + path);
+            }
+            // the mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new CatalogImage(path, mapped);
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    public long createdAt() {
+        return createdAt;
+    }
+
+    /** Serialized attraction JSON for {@code id}, or {@code null} if the image does not contain it. */
+    public ByteBuffer findJsonById(long id) {
+        int low = 0;
+        int high = recordCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = buffer.getLong(record(mid) + R_ID);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return pooled(buffer.getInt(record(mid) + R_JSON_REF));
+            }
+        }
+        return null;
+    }
+
+    /** Serialized attraction JSON for an exact name match, or {@code null}. */
+    public ByteBuffer findJsonByName(String name) {
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = recordCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int recordNo = buffer.getInt(nameIndexOffset + mid * Integer.BYTES);
+            int cmp = comparePooled(buffer.getInt(record(recordNo) + R_NAME_REF), key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return pooled(buffer.getInt(record(recordNo) + R_JSON_REF));
+            }
+        }
+        return null;
+    }
+
+    private int record(int recordNo) {
+        return recordsOffset + recordNo * RECORD_SIZE;
+    }
+
+    private ByteBuffer pooled(int ref) {
+        int position = poolOffset + ref;
+        int length = buffer.getInt(position);
+        return buffer.slice(position + Integer.BYTES, length);
+    }
+
+    // unsigned byte order matches the order the writer sorted the name index in
+    private int comparePooled(int ref, byte[] key) {
+        int position = poolOffset + ref;
+        int length = buffer.getInt(position);
+        int start = position + Integer.BYTES;
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Byte.compareUnsigned(buffer.get(start + i), key[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+}
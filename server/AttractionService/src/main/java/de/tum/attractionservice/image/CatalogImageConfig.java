@@ -0,0 +1,22 @@
+package de.tum.attractionservice.image;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class CatalogImageConfig implements WebMvcConfigurer {
+
+    private final CatalogImageInterceptor catalogImageInterceptor;
+
+    public CatalogImageConfig(CatalogImageInterceptor catalogImageInterceptor) {
+        this.catalogImageInterceptor = catalogImageInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(catalogImageInterceptor)
+                .addPathPatterns("/attractions/id/*", "/attractions/*")
+                .excludePathPatterns("/attractions/snapshot", "/attractions/ranked");
+    }
+}
@@ -0,0 +1,43 @@
+package de.tum.attractionservice.image;
+
+/**
+ * On-disk layout of a catalog image. All numbers are big-endian.
+ *
+ * <pre>
+ * header      64 bytes   magic, version, record count/size, created-at and section offsets
+ * records     n * 48     id, city id, latitude, longitude, name/city-name/json pool refs; sorted by id
+ * name index  n * 4      record numbers sorted by the unsigned UTF-8 bytes of the name
+ * string pool            [int length][bytes] entries, deduplicated for names and city names
+ * </pre>
+ *
+ * Pool references are int offsets, so one image is limited to 2 GB, which is also the limit of a
+ * single {@link java.nio.MappedByteBuffer}.
+ */
+final class CatalogImageFormat {
+
+    static final int MAGIC = 0x54424349; // "TBCI"
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 64;
+    static final int H_MAGIC = 0;
+    static final int H_VERSION = 4;
+    static final int H_RECORD_COUNT = 8;
+    static final int H_RECORD_SIZE = 12;
+    static final int H_CREATED_AT = 16;
+    static final int H_RECORDS_OFFSET = 24;
+    static final int H_NAME_INDEX_OFFSET = 32;
+    static final int H_POOL_OFFSET = 40;
+    static final int H_POOL_LENGTH = 48;
+
+    static final int RECORD_SIZE = 48;
+    static final int R_ID = 0;
+    static final int R_CITY_ID = 8;
+    static final int R_LATITUDE = 16;
+    static final int R_LONGITUDE = 24;
+    static final int R_NAME_REF = 32;
+    static final int R_CITY_NAME_REF = 36;
+    static final int R_JSON_REF = 40;
+
+    private CatalogImageFormat() {
+    }
+}
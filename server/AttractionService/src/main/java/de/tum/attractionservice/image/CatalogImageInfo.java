@@ -0,0 +1,7 @@
+package de.tum.attractionservice.image;
+
+/**
+ * Result of building a catalog image.
+ */
+public record CatalogImageInfo(String file, int records, long bytes) {
+}
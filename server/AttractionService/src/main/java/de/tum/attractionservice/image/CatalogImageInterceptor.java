@@ -0,0 +1,77 @@
+package de.tum.attractionservice.image;
+
+import de.tum.attractionservice.service.ViewCounterService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Map;
+
+/**
+ * Answers single-attraction reads ({@code /attractions/id/{id}}, {@code /attractions/{name}}) from the
+ * mapped catalog image, copying the stored JSON straight to the response. Misses fall through to the
+ * controller and therefore to the database. Reads by id served here still count as attraction views.
+ */
+@Component
+public class CatalogImageInterceptor implements HandlerInterceptor {
+
+    private final CatalogImageStore store;
+    private final ViewCounterService viewCounter;
+
+    public CatalogImageInterceptor(CatalogImageStore store, ViewCounterService viewCounter) {
+        this.store = store;
+        this.viewCounter = viewCounter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        CatalogImage image = store.current();
+        if (image == null || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        // fixed paths under /attractions/* (e.g. /ranked) are not single-attraction reads
+        if (variables == null || !(variables.containsKey("id") || variables.containsKey("name"))) {
+            return true;
+        }
+
+        ByteBuffer json = null;
+        if (variables.containsKey("id")) {
+            long id;
+            try {
+                id = Long.parseLong(variables.get("id"));
+            } catch (NumberFormatException e) {
+                return true;
+            }
+            json = image.findJsonById(id);
+            if (json != null) {
+                viewCounter.record(id);
+            }
+        } else {
+            json = image.findJsonByName(variables.get("name"));
+        }
+        store.recordLookup(json != null);
+        if (json == null) {
+            return true;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(json.remaining());
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        while (json.hasRemaining()) {
+            out.write(json);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,111 @@
+package de.tum.attractionservice.image;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the catalog image a read replica currently serves from. A newer file at the configured
+ * path is mapped and swapped in atomically; requests already holding the old image finish on it.
+ */
+@Component
+public class CatalogImageStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogImageStore.class);
+
+    private final AtomicReference<CatalogImage> current = new AtomicReference<>();
+    private final Counter swapCounter;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private FileTime loadedModifiedTime;
+
+    @Value("${application.catalog-image.serve:false}")
+    private boolean serve;
+
+    @Value("${application.catalog-image.path:catalog/attractions.img}")
+    private String imagePath;
+
+    public CatalogImageStore(MeterRegistry registry) {
+        this.swapCounter = Counter
+                .builder("attraction_service_catalog_image_swaps_total")
+                .description("Number of catalog images mapped and swapped in")
+                .register(registry);
+        this.hitCounter = Counter
+                .builder("attraction_service_catalog_image_hits_total")
+                .description("Attraction reads answered from the catalog image")
+                .register(registry);
+        this.missCounter = Counter
+                .builder("attraction_service_catalog_image_misses_total")
+                .description("Attraction reads not found in the catalog image")
+                .register(registry);
+        Gauge.builder("attraction_service_catalog_image_records", current, ref -> {
+                    CatalogImage image = ref.get();
+                    return image == null ? 0 : image.size();
+                })
+                .description("Attractions in the currently mapped catalog image")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void loadAtStartup() {
+        if (serve) {
+            reloadIfChanged();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.catalog-image.poll-interval-ms:30000}")
+    public void poll() {
+        if (serve) {
+            reloadIfChanged();
+        }
+    }
+
+    /**
+     * Maps the image file if it is newer than the one being served.
+     *
+     * @return true if a new image was swapped in
+     */
+    public synchronized boolean reloadIfChanged() {
+        Path path = Path.of(imagePath).toAbsolutePath();
+        try {
+            if (!Files.exists(path)) {
+                return false;
+            }
+            FileTime modified = Files.getLastModifiedTime(path);
+            if (modified.equals(loadedModifiedTime)) {
+                return false;
+            }
+            CatalogImage image = CatalogImage.open(path);
+            // the old mapping is released by the GC once no request references it
+            current.set(image);
+            loadedModifiedTime = modified;
+            swapCounter.increment();
+            log.info("Serving catalog image {} with {} attractions", path, image.size());
+            return true;
+        } catch (IOException e) {
+            log.warn("Could not load catalog image {}: {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    /** The image to serve from, or {@code null} when serving is disabled or no image is loaded. */
+    public CatalogImage current() {
+        return serve ? current.get() : null;
+    }
+
+    void recordLookup(boolean hit) {
+        (hit ? hitCounter : missCounter).increment();
+    }
+}
@@ -0,0 +1,192 @@
+package de.tum.attractionservice.image;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.tum.attractionservice.index.GeoMath;
+import de.tum.attractionservice.model.AttractionEntity;
+import de.tum.attractionservice.repository.AttractionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static de.tum.attractionservice.image.CatalogImageFormat.*;
+
+/**
+ * Build step for the catalog image: pages through the catalog by id, serializes each attraction
+ * exactly as the REST API would, and writes the image next to the target before renaming it into place.
+ */
+@Component
+public class CatalogImageWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogImageWriter.class);
+    private static final int PAGE_SIZE = 500;
+
+    private final AttractionRepository attractionRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${application.catalog-image.path:catalog/attractions.img}")
+    private String imagePath;
+
+    public CatalogImageWriter(AttractionRepository attractionRepository, ObjectMapper objectMapper) {
+        this.attractionRepository = attractionRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Scheduled(cron = "${application.catalog-image.build-cron:-}")
+    @Transactional(readOnly = true)
+    public void scheduledBuild() throws IOException {
+        CatalogImageInfo info = write();
+        log.info("Catalog image with {} attractions written to {}", info.records(), info.file());
+    }
+
+    @Transactional(readOnly = true)
+    public CatalogImageInfo write() throws IOException {
+        Path target = Path.of(imagePath).toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path poolFile = Files.createTempFile(target.getParent(), "catalog-pool", ".tmp");
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try {
+            ByteArrayOutputStream records = new ByteArrayOutputStream();
+            DataOutputStream recordOut = new DataOutputStream(records);
+            List<NameEntry> names = new ArrayList<>();
+            long poolLength;
+
+            try (DataOutputStream poolOut = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(poolFile), 64 * 1024))) {
+                StringPool pool = new StringPool(poolOut);
+                long lastId = 0;
+                List<AttractionEntity> page;
+                while (!(page = attractionRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, PAGE_SIZE))).isEmpty()) {
+                    for (AttractionEntity attraction : page) {
+                        byte[] name = attraction.getName().getBytes(StandardCharsets.UTF_8);
+                        names.add(new NameEntry(name, names.size()));
+
+                        recordOut.writeLong(attraction.getId());
+                        recordOut.writeLong(attraction.getCity().getId());
+                        recordOut.writeDouble(GeoMath.parseCoordinate(attraction.getLocation().getLatitude()));
+                        recordOut.writeDouble(GeoMath.parseCoordinate(attraction.getLocation().getLongitude()));
+                        recordOut.writeInt(pool.append(name));
+                        recordOut.writeInt(pool.intern(attraction.getCity().getName()));
+                        recordOut.writeInt(pool.append(objectMapper.writeValueAsBytes(attraction)));
+                        recordOut.writeInt(0);
+                    }
+                    lastId = page.get(page.size() - 1).getId();
+                    // keep the persistence context from growing with the catalog
+                    entityManager.clear();
+                }
+                poolLength = pool.length();
+            }
+
+            names.sort(Comparator.comparing(NameEntry::name, Arrays::compareUnsigned));
+            ByteBuffer nameIndex = ByteBuffer.allocate(names.size() * Integer.BYTES);
+            for (NameEntry entry : names) {
+                nameIndex.putInt(entry.recordNo());
+            }
+            nameIndex.flip();
+
+            long recordsOffset = HEADER_SIZE;
+            long nameIndexOffset = recordsOffset + records.size();
+            long poolOffset = nameIndexOffset + nameIndex.remaining();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(H_MAGIC, MAGIC)
+                    .putInt(H_VERSION, VERSION)
+                    .putInt(H_RECORD_COUNT, names.size())
+                    .putInt(H_RECORD_SIZE, RECORD_SIZE)
+                    .putLong(H_CREATED_AT, System.currentTimeMillis())
+                    .putLong(H_RECORDS_OFFSET, recordsOffset)
+                    .putLong(H_NAME_INDEX_OFFSET, nameIndexOffset)
+                    .putLong(H_POOL_OFFSET, poolOffset)
+                    .putLong(H_POOL_LENGTH, poolLength);
+
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 FileChannel pool = FileChannel.open(poolFile, StandardOpenOption.READ)) {
+                writeFully(out, header);
+                writeFully(out, ByteBuffer.wrap(records.toByteArray()));
+                writeFully(out, nameIndex);
+                long copied = 0;
+                while (copied < poolLength) {
+                    copied += pool.transferTo(copied, poolLength - copied, out);
+                }
+                out.force(true);
+            }
+            // replicas polling the path only ever map a complete image
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return new CatalogImageInfo(target.toString(), names.size(), Files.size(target));
+        } finally {
+            Files.deleteIfExists(poolFile);
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private record NameEntry(byte[] name, int recordNo) {
+    }
+
+    /** Appends length-prefixed byte strings and hands out their offsets; {@link #intern} deduplicates repeated values. */
+    private static final class StringPool {
+        private final DataOutputStream out;
+        private final Map<String, Integer> interned = new HashMap<>();
+        private long length;
+
+        StringPool(DataOutputStream out) {
+            this.out = out;
+        }
+
+        int intern(String value) throws IOException {
+            Integer ref = interned.get(value);
+            if (ref == null) {
+                ref = append(value.getBytes(StandardCharsets.UTF_8));
+                interned.put(value, ref);
+            }
+            return ref;
+        }
+
+        int append(byte[] value) throws IOException {
+            if (length + Integer.BYTES + value.length > Integer.MAX_VALUE) {
+                throw new IOException("Catalog image string pool exceeds 2 GB");
+            }
+            int ref = (int) length;
+            out.writeInt(value.length);
+            out.write(value);
+            length += Integer.BYTES + value.length;
+            return ref;
+        }
+
+        long length() {
+            return length;
+        }
+    }
+}
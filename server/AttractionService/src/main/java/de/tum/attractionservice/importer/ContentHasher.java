@@ -0,0 +1,74 @@
+package de.tum.attractionservice.importer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Stable SHA-256 over every imported field of an {@link AttractionDTO}. Each value is
+ * length-prefixed, so neighbouring fields cannot run into each other, and nulls differ from
+ * empty strings. Bump {@link #VERSION} whenever the covered fields change.
+ */
+public final class ContentHasher {
+
+    private static final byte[] VERSION = "attraction-v1".getBytes(StandardCharsets.UTF_8);
+
+    private ContentHasher() {
+    }
+
+    public static String hash(AttractionDTO dto) {
+        MessageDigest digest = sha256();
+        digest.update(VERSION);
+        update(digest, dto.getName());
+        update(digest, dto.getDescription());
+        update(digest, dto.getCity());
+        update(digest, dto.getCountry());
+        update(digest, dto.getOpeningHours());
+        update(digest, dto.getPhotos());
+        update(digest, dto.getWebsite());
+        update(digest, dto.getAddress());
+        update(digest, dto.getLatitude());
+        update(digest, dto.getLongitude());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, List<String> values) {
+        if (values == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        digest.update((byte) 2);
+        updateInt(digest, values.size());
+        for (String value : values) {
+            update(digest, value);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        updateInt(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private static void updateInt(MessageDigest digest, int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
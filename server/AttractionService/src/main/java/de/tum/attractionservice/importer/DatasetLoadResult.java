@@ -0,0 +1,11 @@
+package de.tum.attractionservice.importer;
+
+/**
+ * Outcome of one {@link DatasetLoader} run.
+ *
+ * @param resumedFrom records already covered by a checkpoint and not re-imported
+ * @param processed   records read and imported (or skipped by the import) in this run
+ */
+public record DatasetLoadResult(long resumedFrom, long processed, long inserted, long updated,
+                                long unchanged, long skipped, long nearDuplicates) {
+}
@@ -0,0 +1,215 @@
+package de.tum.attractionservice.importer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.tum.attractionservice.service.AttractionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Loads a dataset file (a JSON array like {@code server/data/data.json}, or NDJSON; either may be
+ * gzipped) into the catalog at startup. The file is streamed record by record through a buffered
+ * file channel and imported in batches, each batch in its own transaction through the regular bulk
+ * import, so memory stays flat however large the file is.
+ *
+ * <p>After every committed batch a checkpoint records how far the load got. A restarted load resumes
+ * there: plain NDJSON files are re-opened at the checkpoint's byte offset, other formats skip the
+ * already imported records without binding them. Re-importing a record is harmless anyway, since
+ * existing names are skipped (or, in upsert mode, rewritten only if their content changed).
+ *
+ * <p>Enabled by {@code application.bootstrap.file}, e.g.
+ * {@code java -jar attraction-service.jar --application.bootstrap.file=/data/attractions.ndjson
+ * --application.bootstrap.exit-after-load=true}.
+ */
+@Component
+public class DatasetLoader implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetLoader.class);
+    private static final int READ_BUFFER_BYTES = 1 << 20;
+
+    private final AttractionService attractionService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationContext applicationContext;
+    private final Counter loadedCounter;
+
+    @Value("${application.bootstrap.file:}")
+    private String file;
+
+    @Value("${application.bootstrap.checkpoint:}")
+    private String checkpointFile;
+
+    @Value("${application.bootstrap.mode:INSERT}")
+    private ImportMode mode;
+
+    @Value("${application.bootstrap.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${application.bootstrap.exit-after-load:false}")
+    private boolean exitAfterLoad;
+
+    public DatasetLoader(AttractionService attractionService,
+                         ObjectMapper objectMapper,
+                         ApplicationContext applicationContext,
+                         MeterRegistry registry) {
+        this.attractionService = attractionService;
+        this.objectMapper = objectMapper;
+        this.applicationContext = applicationContext;
+
+        this.loadedCounter = Counter
+                .builder("attraction_service_bootstrap_records_total")
+                .description("Dataset records imported by the bootstrap loader")
+                .register(registry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (file == null || file.isBlank()) {
+            return;
+        }
+        Path dataset = Path.of(file);
+        Path checkpoint = checkpointFile == null || checkpointFile.isBlank()
+                ? dataset.resolveSibling(dataset.getFileName() + ".checkpoint")
+                : Path.of(checkpointFile);
+        load(dataset, checkpoint);
+
+        if (exitAfterLoad) {
+            int code = SpringApplication.exit(applicationContext, () -> 0);
+            System.exit(code);
+        }
+    }
+
+    public DatasetLoadResult load(Path dataset, Path checkpointPath) throws IOException {
+        long size = Files.size(dataset);
+        long modified = Files.getLastModifiedTime(dataset).toMillis();
+        LoadCheckpoint checkpoint = LoadCheckpoint.read(checkpointPath);
+        if (checkpoint == null || !checkpoint.matches(size, modified)) {
+            checkpoint = LoadCheckpoint.start(size, modified);
+        } else if (checkpoint.complete()) {
+            log.info("Dataset {} already loaded ({} records), skipping", dataset, checkpoint.records());
+            return new DatasetLoadResult(checkpoint.records(), 0, 0, 0, 0, 0, 0);
+        }
+        long resumedFrom = checkpoint.records();
+        if (resumedFrom > 0) {
+            log.info("Resuming load of {} after {} records", dataset, resumedFrom);
+        }
+
+        boolean gzip = dataset.getFileName().toString().endsWith(".gz");
+        // a byte offset only marks a record boundary in plain NDJSON; arrays and gzip skip by count
+        boolean seek = !gzip && checkpoint.byteOffset() > 0 && startsWithObject(dataset);
+        long baseOffset = seek ? checkpoint.byteOffset() : 0;
+        long toSkip = seek ? 0 : resumedFrom;
+
+        long started = System.nanoTime();
+        Totals totals = new Totals();
+        try (FileChannel channel = FileChannel.open(dataset, StandardOpenOption.READ)) {
+            channel.position(baseOffset);
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel), READ_BUFFER_BYTES);
+            if (gzip) {
+                in = new GZIPInputStream(in, READ_BUFFER_BYTES);
+            }
+            try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_ARRAY) {
+                    token = parser.nextToken();
+                }
+
+                long records = resumedFrom - toSkip;
+                List<AttractionDTO> batch = new ArrayList<>(batchSize);
+                while (token == JsonToken.START_OBJECT) {
+                    if (toSkip > 0) {
+                        parser.skipChildren();
+                        toSkip--;
+                    } else {
+                        batch.add(objectMapper.readValue(parser, AttractionDTO.class));
+                    }
+                    records++;
+                    if (batch.size() == batchSize) {
+                        long offset = gzip ? 0 : baseOffset + parser.currentLocation().getByteOffset();
+                        checkpoint = commit(batch, totals, checkpoint, records, offset, checkpointPath);
+                        log.info("Loaded {} records from {} ({} records/s)", records, dataset,
+                                Math.round(totals.processed / ((System.nanoTime() - started) / 1e9)));
+                    }
+                    token = parser.nextToken();
+                }
+                if (token != null && token != JsonToken.END_ARRAY) {
+                    throw new IOException("Unexpected " + token + " at " + parser.currentLocation()
+                            + ": expected an attraction object");
+                }
+                long offset = gzip ? 0 : baseOffset + parser.currentLocation().getByteOffset();
+                if (!batch.isEmpty()) {
+                    checkpoint = commit(batch, totals, checkpoint, records, offset, checkpointPath);
+                }
+                checkpoint.finish().write(checkpointPath);
+            }
+        }
+
+        log.info("Dataset {} loaded: {} inserted, {} updated, {} unchanged, {} skipped in {} ms",
+                dataset, totals.inserted, totals.updated, totals.unchanged, totals.skipped,
+                (System.nanoTime() - started) / 1_000_000);
+        return new DatasetLoadResult(resumedFrom, totals.processed, totals.inserted, totals.updated,
+                totals.unchanged, totals.skipped, totals.nearDuplicates);
+    }
+
+    private LoadCheckpoint commit(List<AttractionDTO> batch, Totals totals, LoadCheckpoint checkpoint,
+                                  long records, long offset, Path checkpointPath) throws IOException {
+        ImportResult result = attractionService.saveAll(batch, mode);
+        totals.add(result);
+        loadedCounter.increment(result.received());
+        batch.clear();
+
+        LoadCheckpoint next = checkpoint.advance(records, offset);
+        next.write(checkpointPath);
+        return next;
+    }
+
+    private static boolean startsWithObject(Path dataset) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(dataset))) {
+            int b;
+            while ((b = in.read()) != -1) {
+                if (!Character.isWhitespace(b)) {
+                    return b == '{';
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Totals {
+        long processed;
+        long inserted;
+        long updated;
+        long unchanged;
+        long skipped;
+        long nearDuplicates;
+
+        void add(ImportResult result) {
+            processed += result.received();
+            inserted += result.inserted();
+            updated += result.updated();
+            unchanged += result.unchanged();
+            skipped += result.skipped();
+            nearDuplicates += result.nearDuplicates();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package de.tum.attractionservice.importer;
+
+/**
+ * Id and stored content hash of an attraction, looked up by name in bulk during imports.
+ */
+public record ExistingAttraction(Long id, String name, String contentHash) {
+}
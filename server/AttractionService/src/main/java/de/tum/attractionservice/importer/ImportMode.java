@@ -0,0 +1,8 @@
+package de.tum.attractionservice.importer;
+
+public enum ImportMode {
+    /** Insert attractions whose name is not known yet; existing names are left untouched. */
+    INSERT,
+    /** Insert new attractions and rewrite existing ones whose content hash changed. */
+    UPSERT
+}
@@ -0,0 +1,18 @@
+package de.tum.attractionservice.importer;
+
+import java.util.List;
+
+/**
+ * Summary of one bulk import.
+ *
+ * @param inserted              new attractions written
+ * @param updated               existing attractions rewritten because their content changed (upsert mode only)
+ * @param unchanged             existing attractions whose content hash matched
+ * @param skipped               existing attractions left alone in insert mode, repeated names within the batch
+ *                              and near-duplicates dropped by {@link NearDuplicateAction#SKIP}
+ * @param nearDuplicates        number of new records that looked like near-duplicates
+ * @param nearDuplicateMatches  the first of those matches, capped to keep responses small
+ */
+public record ImportResult(ImportMode mode, int received, int inserted, int updated, int unchanged, int skipped,
+                           int nearDuplicates, List<NearDuplicate> nearDuplicateMatches) {
+}
@@ -0,0 +1,71 @@
+package de.tum.attractionservice.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Progress of a dataset load, persisted after every committed batch. The fingerprint (size and
+ * modification time of the dataset) ties a checkpoint to one version of the file.
+ *
+ * @param records    records consumed so far, committed or deliberately skipped
+ * @param byteOffset file offset just past the last consumed record
+ */
+record LoadCheckpoint(long fileSize, long lastModified, long records, long byteOffset, boolean complete) {
+
+    static LoadCheckpoint start(long fileSize, long lastModified) {
+        return new LoadCheckpoint(fileSize, lastModified, 0, 0, false);
+    }
+
+    boolean matches(long size, long modified) {
+        return fileSize == size && lastModified == modified;
+    }
+
+    LoadCheckpoint advance(long newRecords, long newByteOffset) {
+        return new LoadCheckpoint(fileSize, lastModified, newRecords, newByteOffset, false);
+    }
+
+    LoadCheckpoint finish() {
+        return new LoadCheckpoint(fileSize, lastModified, records, byteOffset, true);
+    }
+
+    /** Reads a checkpoint, or returns {@code null} if there is none. */
+    static LoadCheckpoint read(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        }
+        return new LoadCheckpoint(
+                Long.parseLong(props.getProperty("file-size")),
+                Long.parseLong(props.getProperty("last-modified")),
+                Long.parseLong(props.getProperty("records")),
+                Long.parseLong(props.getProperty("byte-offset")),
+                Boolean.parseBoolean(props.getProperty("complete")));
+    }
+
+    /** Replaces the checkpoint file atomically, so a crash never leaves a torn checkpoint. */
+    void write(Path path) throws IOException {
+        Properties props = new Properties();
+        props.setProperty("file-size", Long.toString(fileSize));
+        props.setProperty("last-modified", Long.toString(lastModified));
+        props.setProperty("records", Long.toString(records));
+        props.setProperty("byte-offset", Long.toString(byteOffset));
+        props.setProperty("complete", Boolean.toString(complete));
+
+        Path dir = path.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            props.store(writer, "attraction dataset load");
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
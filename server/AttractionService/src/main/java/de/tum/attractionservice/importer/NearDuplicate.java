@@ -0,0 +1,13 @@
+package de.tum.attractionservice.importer;
+
+/**
+ * One record of an import that looked like a near-duplicate of another attraction.
+ *
+ * @param matchedId  id of the catalog attraction it matched, or {@code null} for an earlier record of the same batch
+ * @param similarity estimated Jaccard similarity of the name and description shingles
+ * @param distanceKm distance between the two, or {@code null} when either lacks coordinates
+ * @param skipped    whether the record was dropped instead of imported
+ */
+public record NearDuplicate(String name, String matchedName, Long matchedId,
+                            double similarity, Double distanceKm, boolean skipped) {
+}
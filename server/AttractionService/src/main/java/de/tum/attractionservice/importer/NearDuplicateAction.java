@@ -0,0 +1,9 @@
+package de.tum.attractionservice.importer;
+
+/** What an import does with a record that looks like a near-duplicate. */
+public enum NearDuplicateAction {
+    /** Import it anyway and list it in the import result. */
+    REPORT,
+    /** Keep the attraction it matched and drop the record. */
+    SKIP
+}
@@ -0,0 +1,32 @@
+package de.tum.attractionservice.importer;
+
+import de.tum.attractionservice.model.OpeningHours;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the import format of opening hours, {@code "Day: HH:mm - HH:mm"}.
+ */
+public final class OpeningHoursParser {
+
+    private OpeningHoursParser() {
+    }
+
+    public static List<OpeningHours> parse(List<String> values) {
+        List<OpeningHours> hours = new ArrayList<>(values.size());
+        for (String value : values) {
+            int colon = value.indexOf(": ");
+            int dash = value.indexOf(" - ", colon + 2);
+            if (colon < 0 || dash < 0) {
+                throw new IllegalArgumentException("Malformed opening hours: " + value);
+            }
+            OpeningHours oh = new OpeningHours();
+            oh.setDay(value.substring(0, colon));
+            oh.setFromTime(value.substring(colon + 2, dash));
+            oh.setToTime(value.substring(dash + 3));
+            hours.add(oh);
+        }
+        return hours;
+    }
+}
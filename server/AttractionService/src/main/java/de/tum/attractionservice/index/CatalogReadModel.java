@@ -0,0 +1,490 @@
+package de.tum.attractionservice.index;
+
+import de.tum.attractionservice.export.AttractionSnapshotRow;
+import de.tum.attractionservice.export.CityStats;
+import de.tum.attractionservice.export.OpeningHoursRow;
+import de.tum.attractionservice.model.AttractionEntity;
+import de.tum.attractionservice.repository.AttractionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Compact in-memory copy of the scan-relevant attraction columns: parallel primitive arrays for ids,
+ * city ids and coordinates plus interned names. Full-catalog scans are plain loops over these arrays
+ * instead of walks over JPA entities.
+ *
+ * <p>Rebuilt from the database once the application is ready and patched by {@code AttractionService}
+ * after each committed write. Slots are dense: removing an attraction moves the last slot into the gap.
+ *
+ * <p>Every patch also updates per-city aggregates (count, centroid, bounding box, open-now counts), so
+ * city statistics are answered without scanning attractions.
+ */
+@Component
+public class CatalogReadModel {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogReadModel.class);
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /** Receives one attraction per call during {@link #forEach}. */
+    @FunctionalInterface
+    public interface RowVisitor {
+        void visit(int slot, long id, long cityId, double latitude, double longitude);
+    }
+
+    /** Column access by slot, valid only inside {@link #read}. */
+    public interface Columns {
+        int size();
+
+        long id(int slot);
+
+        long cityId(int slot);
+
+        double latitude(int slot);
+
+        double longitude(int slot);
+
+        String name(int slot);
+
+        /** Opening hours as a {@link WeeklySchedule} bitset, empty if none are known; must not be modified. */
+        long[] schedule(int slot);
+
+        /** Slot of the attraction, or {@link LongIntHashMap#MISSING} if it is not in the model. */
+        int slotOf(long id);
+    }
+
+    private final AttractionRepository attractionRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Timer rebuildTimer;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] cityIds = new long[INITIAL_CAPACITY];
+    private double[] latitudes = new double[INITIAL_CAPACITY];
+    private double[] longitudes = new double[INITIAL_CAPACITY];
+    private int[] nameRefs = new int[INITIAL_CAPACITY];
+    private int[] scheduleRefs = new int[INITIAL_CAPACITY];
+    private int size;
+    private LongIntHashMap slotById = new LongIntHashMap(INITIAL_CAPACITY);
+    private StringTable strings = new StringTable();
+    private ScheduleTable schedules = new ScheduleTable();
+    private CityAggregates aggregates = new CityAggregates();
+    private final IndexPatcher patcher = new IndexPatcher(lock);
+
+    private final Columns columns = new Columns() {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public long id(int slot) {
+            return ids[slot];
+        }
+
+        @Override
+        public long cityId(int slot) {
+            return cityIds[slot];
+        }
+
+        @Override
+        public double latitude(int slot) {
+            return latitudes[slot];
+        }
+
+        @Override
+        public double longitude(int slot) {
+            return longitudes[slot];
+        }
+
+        @Override
+        public String name(int slot) {
+            return strings.get(nameRefs[slot]);
+        }
+
+        @Override
+        public long[] schedule(int slot) {
+            return schedules.get(scheduleRefs[slot]);
+        }
+
+        @Override
+        public int slotOf(long id) {
+            return slotById.get(id);
+        }
+    };
+
+    public CatalogReadModel(AttractionRepository attractionRepository, MeterRegistry registry) {
+        this.attractionRepository = attractionRepository;
+
+        this.rebuildTimer = Timer
+                .builder("attraction_service_read_model_rebuild_duration_seconds")
+                .description("Time to rebuild the in-memory catalog read model")
+                .register(registry);
+        Gauge.builder("attraction_service_read_model_attractions", this, CatalogReadModel::size)
+                .description("Attractions held in the in-memory read model")
+                .register(registry);
+        Gauge.builder("attraction_service_read_model_bytes", this, CatalogReadModel::sizeInBytes)
+                .description("Approximate heap used by the in-memory read model")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("attraction_service_read_model_bytes_per_attraction", this, m -> {
+                    int n = m.size();
+                    return n == 0 ? 0 : (double) m.sizeInBytes() / n;
+                })
+                .description("Approximate heap per attraction in the in-memory read model")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    // after CommandLineRunners such as the DataSeeder, so seeded rows are included
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Snapshot rebuilt = rebuildTimer.record(() -> patcher.rebuild(this::load, this::install));
+        log.info("Catalog read model rebuilt with {} attractions", rebuilt.size());
+    }
+
+    /** Freshly loaded columns, installed as a whole. */
+    private record Snapshot(long[] ids, long[] cityIds, double[] latitudes, double[] longitudes, int[] nameRefs,
+                            int[] scheduleRefs, LongIntHashMap slotById, StringTable strings,
+                            ScheduleTable schedules, CityAggregates aggregates, int size) {
+    }
+
+    private Snapshot load() {
+        int expected = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(INITIAL_CAPACITY, attractionRepository.count()));
+        long[] newIds = new long[expected];
+        long[] newCityIds = new long[expected];
+        double[] newLatitudes = new double[expected];
+        double[] newLongitudes = new double[expected];
+        int[] newNameRefs = new int[expected];
+        int[] newScheduleRefs = new int[expected];
+        LongIntHashMap newSlotById = new LongIntHashMap(expected);
+        StringTable newStrings = new StringTable();
+
+        int n = 0;
+        try (Stream<AttractionSnapshotRow> rows = attractionRepository.streamSnapshot()) {
+            for (AttractionSnapshotRow row : (Iterable<AttractionSnapshotRow>) rows::iterator) {
+                if (n == newIds.length) {
+                    int capacity = grow(n);
+                    newIds = Arrays.copyOf(newIds, capacity);
+                    newCityIds = Arrays.copyOf(newCityIds, capacity);
+                    newLatitudes = Arrays.copyOf(newLatitudes, capacity);
+                    newLongitudes = Arrays.copyOf(newLongitudes, capacity);
+                    newNameRefs = Arrays.copyOf(newNameRefs, capacity);
+                    newScheduleRefs = Arrays.copyOf(newScheduleRefs, capacity);
+                }
+                newIds[n] = row.id();
+                newCityIds[n] = row.cityId();
+                newLatitudes[n] = GeoMath.parseCoordinate(row.latitude());
+                newLongitudes[n] = GeoMath.parseCoordinate(row.longitude());
+                newNameRefs[n] = newStrings.intern(row.name());
+                newSlotById.put(row.id(), n);
+                n++;
+            }
+        }
+
+        // opening hours arrive grouped by attraction id; intern one bitset per attraction
+        ScheduleTable newSchedules = new ScheduleTable();
+        try (Stream<OpeningHoursRow> rows = attractionRepository.streamOpeningHours()) {
+            long currentId = -1;
+            long[] current = null;
+            for (OpeningHoursRow row : (Iterable<OpeningHoursRow>) rows::iterator) {
+                if (row.attractionId() != currentId) {
+                    assignSchedule(newSlotById, newScheduleRefs, newSchedules, currentId, current);
+                    currentId = row.attractionId();
+                    current = new long[WeeklySchedule.WORDS];
+                }
+                WeeklySchedule.add(current, row.day(), row.fromTime(), row.toTime());
+            }
+            assignSchedule(newSlotById, newScheduleRefs, newSchedules, currentId, current);
+        }
+
+        CityAggregates newAggregates = new CityAggregates();
+        for (int i = 0; i < n; i++) {
+            newAggregates.add(newCityIds[i], newLatitudes[i], newLongitudes[i], newSchedules.get(newScheduleRefs[i]));
+        }
+
+        return new Snapshot(newIds, newCityIds, newLatitudes, newLongitudes, newNameRefs, newScheduleRefs,
+                newSlotById, newStrings, newSchedules, newAggregates, n);
+    }
+
+    private void install(Snapshot snapshot) {
+        ids = snapshot.ids();
+        cityIds = snapshot.cityIds();
+        latitudes = snapshot.latitudes();
+        longitudes = snapshot.longitudes();
+        nameRefs = snapshot.nameRefs();
+        scheduleRefs = snapshot.scheduleRefs();
+        slotById = snapshot.slotById();
+        strings = snapshot.strings();
+        schedules = snapshot.schedules();
+        aggregates = snapshot.aggregates();
+        size = snapshot.size();
+    }
+
+    private static void assignSchedule(LongIntHashMap slotById, int[] scheduleRefs, ScheduleTable table,
+                                       long id, long[] schedule) {
+        if (schedule == null) {
+            return;
+        }
+        int slot = slotById.get(id);
+        if (slot != LongIntHashMap.MISSING) {
+            scheduleRefs[slot] = table.intern(schedule);
+        }
+    }
+
+    /** Inserts or replaces the attraction once the surrounding transaction commits. */
+    public void upsertAfterCommit(AttractionEntity attraction) {
+        long id = attraction.getId();
+        long cityId = attraction.getCity().getId();
+        String name = attraction.getName();
+        double latitude = GeoMath.parseCoordinate(attraction.getLocation().getLatitude());
+        double longitude = GeoMath.parseCoordinate(attraction.getLocation().getLongitude());
+        long[] schedule = WeeklySchedule.of(attraction.getOpeningHours());
+        patcher.patchAfterCommit(() -> upsertLocked(id, cityId, name, latitude, longitude, schedule));
+    }
+
+    /** Removes the attraction once the surrounding transaction commits. */
+    public void removeAfterCommit(long id) {
+        patcher.patchAfterCommit(() -> removeLocked(id));
+    }
+
+    public void upsert(long id, long cityId, String name, double latitude, double longitude, long[] schedule) {
+        patcher.patch(() -> upsertLocked(id, cityId, name, latitude, longitude, schedule));
+    }
+
+    public void remove(long id) {
+        patcher.patch(() -> removeLocked(id));
+    }
+
+    private void upsertLocked(long id, long cityId, String name, double latitude, double longitude, long[] schedule) {
+        int slot = slotById.get(id);
+        if (slot == LongIntHashMap.MISSING) {
+            if (size == ids.length) {
+                resize(grow(size));
+            }
+            slot = size++;
+            ids[slot] = id;
+            slotById.put(id, slot);
+        } else {
+            retract(slot);
+        }
+        cityIds[slot] = cityId;
+        latitudes[slot] = latitude;
+        longitudes[slot] = longitude;
+        nameRefs[slot] = strings.intern(name);
+        scheduleRefs[slot] = schedules.intern(schedule);
+        aggregates.add(cityId, latitude, longitude, schedule);
+    }
+
+    private void removeLocked(long id) {
+        int slot = slotById.get(id);
+        if (slot == LongIntHashMap.MISSING) {
+            return;
+        }
+        retract(slot);
+        slotById.remove(id);
+        int last = --size;
+        if (slot != last) {
+            ids[slot] = ids[last];
+            cityIds[slot] = cityIds[last];
+            latitudes[slot] = latitudes[last];
+            longitudes[slot] = longitudes[last];
+            nameRefs[slot] = nameRefs[last];
+            scheduleRefs[slot] = scheduleRefs[last];
+            slotById.put(ids[slot], slot);
+        }
+    }
+
+    /** Aggregates of one city's attractions; answered from running totals, not a scan. */
+    public CityStats cityStats(long cityId, Instant now) {
+        lock.readLock().lock();
+        try {
+            return aggregates.stats(cityId, now);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Ids of cities whose aggregates changed since the previous call, e.g. to persist centroids. */
+    public List<Long> drainChangedCities() {
+        lock.writeLock().lock();
+        try {
+            return aggregates.drainChanged();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Hands back drained ids whose changes could not be persisted. */
+    public void markCitiesChanged(List<Long> cityIds) {
+        lock.writeLock().lock();
+        try {
+            aggregates.markChanged(cityIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // takes the slot's row out of its city's aggregates; the slot is overwritten or moved afterwards
+    private void retract(int slot) {
+        long cityId = cityIds[slot];
+        cityIds[slot] = -1;
+        if (aggregates.remove(cityId, latitudes[slot], longitudes[slot], schedules.get(scheduleRefs[slot]))) {
+            rescanBounds(cityId);
+        }
+    }
+
+    private void rescanBounds(long cityId) {
+        aggregates.resetBounds(cityId);
+        for (int i = 0; i < size; i++) {
+            if (cityIds[i] == cityId) {
+                aggregates.extendBounds(cityId, latitudes[i], longitudes[i]);
+            }
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return slotById.get(id) != LongIntHashMap.MISSING;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Visits every attraction under the read lock; visitors must not call back into the model's write methods. */
+    public void forEach(RowVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                visitor.visit(i, ids[i], cityIds[i], latitudes[i], longitudes[i]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs {@code reader} under the read lock. The reader may fan work out to other threads, but must
+     * join them before returning and must not call back into the model's write methods.
+     */
+    public <T> T read(Function<Columns, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(columns);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] idsInCity(long cityId) {
+        lock.readLock().lock();
+        try {
+            long[] result = new long[16];
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                if (cityIds[i] == cityId) {
+                    if (n == result.length) {
+                        result = Arrays.copyOf(result, n * 2);
+                    }
+                    result[n++] = ids[i];
+                }
+            }
+            return Arrays.copyOf(result, n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Ids of attractions within {@code radiusKm} of the given point (haversine distance). */
+    public long[] idsWithinRadius(double latitude, double longitude, double radiusKm) {
+        lock.readLock().lock();
+        try {
+            long[] result = new long[16];
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                if (GeoMath.distanceKm(latitude, longitude, latitudes[i], longitudes[i]) <= radiusKm) {
+                    if (n == result.length) {
+                        result = Arrays.copyOf(result, n * 2);
+                    }
+                    result[n++] = ids[i];
+                }
+            }
+            return Arrays.copyOf(result, n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** City of the attraction, or -1 if it is unknown. */
+    public long cityOf(long id) {
+        lock.readLock().lock();
+        try {
+            int slot = slotById.get(id);
+            return slot == LongIntHashMap.MISSING ? -1 : cityIds[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String nameOf(long id) {
+        lock.readLock().lock();
+        try {
+            int slot = slotById.get(id);
+            return slot == LongIntHashMap.MISSING ? null : strings.get(nameRefs[slot]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long perSlot = 4L * Long.BYTES + 2L * Integer.BYTES;
+            return ids.length * perSlot + slotById.sizeInBytes() + strings.sizeInBytes()
+                    + schedules.sizeInBytes() + aggregates.sizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void resize(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        cityIds = Arrays.copyOf(cityIds, capacity);
+        latitudes = Arrays.copyOf(latitudes, capacity);
+        longitudes = Arrays.copyOf(longitudes, capacity);
+        nameRefs = Arrays.copyOf(nameRefs, capacity);
+        scheduleRefs = Arrays.copyOf(scheduleRefs, capacity);
+    }
+
+    private static int grow(int capacity) {
+        return Math.max(INITIAL_CAPACITY, capacity + (capacity >> 1));
+    }
+}
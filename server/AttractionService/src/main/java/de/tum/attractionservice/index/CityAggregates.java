@@ -0,0 +1,179 @@
+package de.tum.attractionservice.index;
+
+import de.tum.attractionservice.export.CityStats;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Running per-city totals over the read model's attractions: count, coordinate sums for the centroid,
+ * bounding box, and per half-hour slot the number of attractions open. Owned by
+ * {@link CatalogReadModel} and only touched under its lock. Sums and counts are reversed exactly on
+ * removal; a bounding box cannot be, so removing a point on its edge asks the owner to rescan the city.
+ */
+final class CityAggregates {
+
+    private static final class Accumulator {
+        int count;
+        int located;
+        double latitudeSum;
+        double longitudeSum;
+        double minLatitude = Double.POSITIVE_INFINITY;
+        double maxLatitude = Double.NEGATIVE_INFINITY;
+        double minLongitude = Double.POSITIVE_INFINITY;
+        double maxLongitude = Double.NEGATIVE_INFINITY;
+        int scheduled;
+        // allocated with the first attraction that has opening hours
+        int[] openCounts;
+    }
+
+    private final Map<Long, Accumulator> byCity = new HashMap<>();
+    // cities whose centroid changed since the last drain
+    private final Set<Long> changed = new LinkedHashSet<>();
+
+    void add(long cityId, double latitude, double longitude, long[] schedule) {
+        Accumulator acc = byCity.computeIfAbsent(cityId, id -> new Accumulator());
+        acc.count++;
+        if (isLocated(latitude, longitude)) {
+            acc.located++;
+            acc.latitudeSum += latitude;
+            acc.longitudeSum += longitude;
+            extend(acc, latitude, longitude);
+        }
+        if (!WeeklySchedule.isEmpty(schedule)) {
+            if (acc.openCounts == null) {
+                acc.openCounts = new int[WeeklySchedule.SLOTS];
+            }
+            acc.scheduled++;
+            forEachOpenSlot(schedule, slot -> acc.openCounts[slot]++);
+        }
+        changed.add(cityId);
+    }
+
+    /** Returns true if the city's bounding box must be rebuilt with {@link #resetBounds}/{@link #extendBounds}. */
+    boolean remove(long cityId, double latitude, double longitude, long[] schedule) {
+        Accumulator acc = byCity.get(cityId);
+        if (acc == null) {
+            return false;
+        }
+        changed.add(cityId);
+        if (--acc.count == 0) {
+            byCity.remove(cityId);
+            return false;
+        }
+        if (!WeeklySchedule.isEmpty(schedule) && acc.openCounts != null) {
+            acc.scheduled--;
+            forEachOpenSlot(schedule, slot -> acc.openCounts[slot]--);
+        }
+        if (!isLocated(latitude, longitude)) {
+            return false;
+        }
+        acc.located--;
+        acc.latitudeSum -= latitude;
+        acc.longitudeSum -= longitude;
+        return latitude == acc.minLatitude || latitude == acc.maxLatitude
+                || longitude == acc.minLongitude || longitude == acc.maxLongitude;
+    }
+
+    void resetBounds(long cityId) {
+        Accumulator acc = byCity.get(cityId);
+        if (acc != null) {
+            acc.minLatitude = Double.POSITIVE_INFINITY;
+            acc.maxLatitude = Double.NEGATIVE_INFINITY;
+            acc.minLongitude = Double.POSITIVE_INFINITY;
+            acc.maxLongitude = Double.NEGATIVE_INFINITY;
+        }
+    }
+
+    void extendBounds(long cityId, double latitude, double longitude) {
+        Accumulator acc = byCity.get(cityId);
+        if (acc != null && isLocated(latitude, longitude)) {
+            extend(acc, latitude, longitude);
+        }
+    }
+
+    CityStats stats(long cityId, Instant now) {
+        Accumulator acc = byCity.get(cityId);
+        if (acc == null) {
+            return new CityStats(cityId, 0, null, null, null, null, null, null, 0, 0, null);
+        }
+        Double centroidLatitude = null;
+        Double centroidLongitude = null;
+        Double minLatitude = null;
+        Double minLongitude = null;
+        Double maxLatitude = null;
+        Double maxLongitude = null;
+        if (acc.located > 0) {
+            centroidLatitude = acc.latitudeSum / acc.located;
+            centroidLongitude = acc.longitudeSum / acc.located;
+            minLatitude = acc.minLatitude;
+            minLongitude = acc.minLongitude;
+            maxLatitude = acc.maxLatitude;
+            maxLongitude = acc.maxLongitude;
+        }
+        int openNow = 0;
+        Double openNowShare = null;
+        if (acc.scheduled > 0) {
+            double longitude = centroidLongitude == null ? Double.NaN : centroidLongitude;
+            openNow = acc.openCounts[WeeklySchedule.slotAt(now, WeeklySchedule.offsetForLongitude(longitude))];
+            openNowShare = (double) openNow / acc.scheduled;
+        }
+        return new CityStats(cityId, acc.count, centroidLatitude, centroidLongitude,
+                minLatitude, minLongitude, maxLatitude, maxLongitude, acc.scheduled, openNow, openNowShare);
+    }
+
+    /** Ids of cities whose aggregates changed since the previous call. */
+    List<Long> drainChanged() {
+        List<Long> ids = new ArrayList<>(changed);
+        changed.clear();
+        return ids;
+    }
+
+    void markChanged(List<Long> cityIds) {
+        changed.addAll(cityIds);
+    }
+
+    int cities() {
+        return byCity.size();
+    }
+
+    long sizeInBytes() {
+        long bytes = byCity.size() * 160L;
+        for (Accumulator acc : byCity.values()) {
+            if (acc.openCounts != null) {
+                bytes += acc.openCounts.length * 4L;
+            }
+        }
+        return bytes;
+    }
+
+    private static void extend(Accumulator acc, double latitude, double longitude) {
+        acc.minLatitude = Math.min(acc.minLatitude, latitude);
+        acc.maxLatitude = Math.max(acc.maxLatitude, latitude);
+        acc.minLongitude = Math.min(acc.minLongitude, longitude);
+        acc.maxLongitude = Math.max(acc.maxLongitude, longitude);
+    }
+
+    private static boolean isLocated(double latitude, double longitude) {
+        return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+    }
+
+    private interface SlotVisitor {
+        void visit(int slot);
+    }
+
+    private static void forEachOpenSlot(long[] schedule, SlotVisitor visitor) {
+        for (int word = 0; word < schedule.length; word++) {
+            long bits = schedule[word];
+            while (bits != 0) {
+                visitor.visit(word * 64 + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+    }
+}
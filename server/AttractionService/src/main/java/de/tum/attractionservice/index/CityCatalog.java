@@ -0,0 +1,181 @@
+package de.tum.attractionservice.index;
+
+import de.tum.attractionservice.export.CityPage;
+import de.tum.attractionservice.export.CityView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The full city list as an immutable snapshot, swapped as a whole after every committed city write
+ * (copy-on-write). Readers take the current snapshot with one volatile read, so listings never reach
+ * the database and never see a half-applied change.
+ *
+ * <p>The snapshot version is a hash of the rows rather than a counter, so every instance serving the
+ * same data hands out the same ETag. Reloads go through plain JDBC to bypass Hibernate's caches: a
+ * city inserted by the import resolver is not yet known to the query cache when the reload runs.
+ */
+@Component
+public class CityCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(CityCatalog.class);
+
+    private static final String SELECT_CITIES =
+            "SELECT id, name, country, description, latitude, longitude FROM cities ORDER BY id";
+
+    private record Slice(long[] ids, List<CityView> cities) {
+        static final Slice EMPTY = new Slice(new long[0], List.of());
+    }
+
+    private record Snapshot(String version, Slice all, Map<String, Slice> byCountry, Map<Long, CityView> byId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer refreshTimer;
+    private volatile Snapshot snapshot = new Snapshot(versionOf(List.of()), Slice.EMPTY, Map.of(), Map.of());
+
+    public CityCatalog(JdbcTemplate jdbcTemplate, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        this.refreshTimer = Timer
+                .builder("attraction_service_city_catalog_refresh_duration_seconds")
+                .description("Time to reload the in-memory city catalog snapshot")
+                .register(registry);
+        Gauge.builder("attraction_service_city_catalog_cities", this, c -> c.snapshot.all().ids().length)
+                .description("Cities held in the current city catalog snapshot")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Cities ordered by id, starting after the id {@code after}, optionally restricted to one country
+     * (case-insensitive).
+     */
+    public CityPage page(String country, long after, int size) {
+        Snapshot current = snapshot;
+        Slice slice = country == null || country.isBlank()
+                ? current.all()
+                : current.byCountry().getOrDefault(countryKey(country), Slice.EMPTY);
+
+        int from = Arrays.binarySearch(slice.ids(), after);
+        from = from >= 0 ? from + 1 : -from - 1;
+        int to = Math.min(slice.ids().length, from + size);
+        List<CityView> cities = slice.cities().subList(from, Math.max(from, to));
+        boolean hasMore = to < slice.ids().length;
+        Long nextCursor = hasMore ? cities.get(cities.size() - 1).id() : null;
+        return new CityPage(cities, nextCursor, hasMore, current.version());
+    }
+
+    /** The city with this id in the current snapshot, or null. */
+    public CityView get(long id) {
+        return snapshot.byId().get(id);
+    }
+
+    /** Version of the current snapshot; changes whenever any city row changes. */
+    public String version() {
+        return snapshot.version();
+    }
+
+    /**
+     * Reloads the snapshot once the surrounding transaction commits; several writes in one transaction
+     * share a single reload. Without a transaction the reload runs immediately.
+     */
+    public void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CityCatalog.this);
+            }
+        });
+    }
+
+    // Serialized, so a reload that started before a later commit can never replace a newer snapshot
+    public synchronized void refresh() {
+        refreshTimer.record(() -> {
+            List<CityView> cities = jdbcTemplate.query(SELECT_CITIES, (rs, i) -> new CityView(
+                    rs.getLong("id"),
+                    rs.getString("name"),
+                    rs.getString("country"),
+                    rs.getString("description"),
+                    rs.getObject("latitude", Double.class),
+                    rs.getObject("longitude", Double.class)));
+
+            Map<String, List<CityView>> grouped = new HashMap<>();
+            Map<Long, CityView> byId = new HashMap<>(cities.size() * 2);
+            for (CityView city : cities) {
+                grouped.computeIfAbsent(countryKey(city.country()), k -> new ArrayList<>()).add(city);
+                byId.put(city.id(), city);
+            }
+            Map<String, Slice> byCountry = new HashMap<>(grouped.size() * 2);
+            grouped.forEach((country, members) -> byCountry.put(country, slice(members)));
+
+            snapshot = new Snapshot(versionOf(cities), slice(cities), Map.copyOf(byCountry), Map.copyOf(byId));
+        });
+        log.debug("City catalog snapshot {} holds {} cities", snapshot.version(), snapshot.all().ids().length);
+    }
+
+    private static Slice slice(List<CityView> cities) {
+        long[] ids = new long[cities.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = cities.get(i).id();
+        }
+        return new Slice(ids, List.copyOf(cities));
+    }
+
+    private static String countryKey(String country) {
+        return country.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String versionOf(List<CityView> cities) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        for (CityView city : cities) {
+            String row = city.id() + "\u0000" + city.name() + "\u0000" + city.country() + "\u0000"
+                    + Objects.toString(city.description(), "") + "\u0000"
+                    + city.latitude() + "\u0000" + city.longitude() + "\n";
+            digest.update(row.getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 8);
+    }
+}
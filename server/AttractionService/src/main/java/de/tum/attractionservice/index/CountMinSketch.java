@@ -0,0 +1,54 @@
+package de.tum.attractionservice.index;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Count-min sketch over long keys: {@code depth} rows of {@code width} counters, one hashed counter per
+ * row and key. Estimates never undercount and overcount by at most {@code e * total / width} with
+ * probability {@code 1 - e^-depth}. Counters are atomic, so concurrent adds need no lock.
+ */
+public final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final AtomicIntegerArray counters;
+
+    public CountMinSketch(int depth, int width) {
+        this.depth = depth;
+        this.width = width;
+        this.counters = new AtomicIntegerArray(depth * width);
+    }
+
+    /** Counts one occurrence and returns the key's new estimate. */
+    public int increment(long key) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(key, row)));
+        }
+        return estimate;
+    }
+
+    public int estimate(long key) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(key, row)));
+        }
+        return estimate;
+    }
+
+    public long sizeInBytes() {
+        return (long) depth * width * Integer.BYTES + 32;
+    }
+
+    private int index(long key, int row) {
+        long h = mix(key + 0x9E3779B97F4A7C15L * (row + 1));
+        return row * width + (int) ((h >>> 1) % width);
+    }
+
+    // finalizer of SplitMix64
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,36 @@
+package de.tum.attractionservice.index;
+
+/**
+ * Great-circle helpers shared by the in-memory indexes.
+ */
+public final class GeoMath {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private GeoMath() {
+    }
+
+    /** Haversine distance in kilometres; NaN coordinates yield NaN, which compares false against any radius. */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /** Decimal degrees stored as text; NaN if missing or not a finite number. */
+    public static double parseCoordinate(String value) {
+        if (value == null || value.isBlank()) {
+            return Double.NaN;
+        }
+        double parsed;
+        try {
+            parsed = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+        return Double.isFinite(parsed) ? parsed : Double.NaN;
+    }
+}
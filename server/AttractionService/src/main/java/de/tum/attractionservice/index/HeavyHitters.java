@@ -0,0 +1,50 @@
+package de.tum.attractionservice.index;
+
+import java.util.Arrays;
+
+/**
+ * The {@code capacity} keys with the highest counts offered so far, in the spirit of Space-Saving:
+ * once full, a new key only gets in by displacing the lowest count. Counts come from the caller
+ * (typically a {@link CountMinSketch} estimate), so a displaced key re-enters as soon as its estimate
+ * is high enough. Thread-safe.
+ */
+public final class HeavyHitters {
+
+    private final long[] keys;
+    private final int[] counts;
+    private int size;
+
+    public HeavyHitters(int capacity) {
+        this.keys = new long[capacity];
+        this.counts = new int[capacity];
+    }
+
+    public synchronized void offer(long key, int count) {
+        int min = -1;
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) {
+                counts[i] = Math.max(counts[i], count);
+                return;
+            }
+            if (min < 0 || counts[i] < counts[min]) {
+                min = i;
+            }
+        }
+        if (size < keys.length) {
+            keys[size] = key;
+            counts[size] = count;
+            size++;
+        } else if (min >= 0 && count > counts[min]) {
+            keys[min] = key;
+            counts[min] = count;
+        }
+    }
+
+    public synchronized long[] keys() {
+        return Arrays.copyOf(keys, size);
+    }
+
+    public long sizeInBytes() {
+        return keys.length * (long) (Long.BYTES + Integer.BYTES) + 48;
+    }
+}
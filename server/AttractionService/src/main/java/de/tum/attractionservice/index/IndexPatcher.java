@@ -0,0 +1,88 @@
+package de.tum.attractionservice.index;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps an in-memory index in step with committed writes while it can also be rebuilt from the
+ * database. Patches run under the owner's write lock; those applied while a rebuild streams rows are
+ * logged and replayed onto the rebuilt copy when it is installed, so none is lost to the swap.
+ */
+public final class IndexPatcher {
+
+    private final ReentrantReadWriteLock lock;
+    private List<Runnable> patchesDuringRebuild;
+
+    public IndexPatcher(ReentrantReadWriteLock lock) {
+        this.lock = lock;
+    }
+
+    /** Applies the change now; {@code change} must act on the owner's current state, not a captured copy. */
+    public void patch(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (patchesDuringRebuild != null) {
+                patchesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Applies the change once the surrounding transaction commits. */
+    public void patchAfterCommit(Runnable change) {
+        afterCommit(() -> patch(change));
+    }
+
+    /**
+     * Loads a fresh copy without holding the lock, then installs it and replays the patches applied
+     * meanwhile under the write lock. Rebuilds are serialized.
+     */
+    public synchronized <T> T rebuild(Supplier<T> load, Consumer<T> install) {
+        lock.writeLock().lock();
+        try {
+            patchesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            T loaded = load.get();
+            lock.writeLock().lock();
+            try {
+                install.accept(loaded);
+                patchesDuringRebuild.forEach(Runnable::run);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return loaded;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                patchesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /** Runs the action once the surrounding transaction commits, or immediately without one. */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
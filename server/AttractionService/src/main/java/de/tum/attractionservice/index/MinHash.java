@@ -0,0 +1,151 @@
+package de.tum.attractionservice.index;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * MinHash signatures over attraction text. A signature has two parts of {@link #HASHES} positions:
+ * character trigrams of the normalized name and word bigrams of the description. Each part estimates
+ * the Jaccard similarity of its own shingle sets, so a long description cannot drown out the name.
+ * Each part is split into {@link #BANDS} bands of {@link #ROWS} rows for locality-sensitive hashing:
+ * two texts whose names (or descriptions) have similarity {@code s} share at least one band with
+ * probability {@code 1 - (1 - s^ROWS)^BANDS} (about 0.89 at 0.6, 0.99 at 0.7).
+ */
+public final class MinHash {
+
+    public static final int BANDS = 16;
+    public static final int ROWS = 4;
+    public static final int HASHES = BANDS * ROWS;
+    /** Bands over the whole signature: the name's, then the description's. */
+    public static final int SIGNATURE_BANDS = 2 * BANDS;
+
+    private static final int NAME = 0;
+    private static final int DESCRIPTION = HASHES;
+
+    private MinHash() {
+    }
+
+    /** Signature of the given text, or {@code null} if it yields no shingles. */
+    public static int[] signature(String name, String description) {
+        int[] signature = new int[2 * HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        boolean any = false;
+
+        String normalizedName = normalize(name);
+        if (!normalizedName.isEmpty()) {
+            String padded = " " + normalizedName + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                long h = 'n';
+                for (int j = i; j < i + 3; j++) {
+                    h = h * 31 + padded.charAt(j);
+                }
+                update(signature, NAME, h);
+                any = true;
+            }
+        }
+
+        String normalizedDescription = normalize(description);
+        if (!normalizedDescription.isEmpty()) {
+            String[] words = normalizedDescription.split(" ");
+            for (int i = 0; i < words.length; i++) {
+                long h = ((long) 'd' << 56) ^ words[i].hashCode();
+                if (i + 1 < words.length) {
+                    h = h * 0x9E3779B97F4A7C15L + words[i + 1].hashCode();
+                }
+                update(signature, DESCRIPTION, h);
+                any = true;
+            }
+        }
+        return any ? signature : null;
+    }
+
+    /**
+     * Similarity of two signatures: the name similarity, raised to the average of name and description
+     * similarity when the descriptions agree more than the names. A matching name alone is enough, since
+     * candidates must also lie close together; differently worded source descriptions never lower it.
+     */
+    public static double similarity(int[] a, int[] b) {
+        double names = partSimilarity(a, b, NAME);
+        if (isEmpty(a, DESCRIPTION) || isEmpty(b, DESCRIPTION)) {
+            return names;
+        }
+        return Math.max(names, (names + partSimilarity(a, b, DESCRIPTION)) / 2);
+    }
+
+    /** Whether the band has shingles to hash; bands of an empty name or description are not indexed. */
+    public static boolean hasBand(int[] signature, int band) {
+        return !isEmpty(signature, band < BANDS ? NAME : DESCRIPTION);
+    }
+
+    /**
+     * Bucket key of one of the {@link #SIGNATURE_BANDS} bands; equal keys mean the band's rows agree
+     * (up to 64-bit collisions).
+     */
+    public static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int r = band * ROWS, end = r + ROWS; r < end; r++) {
+            key = (key ^ signature[r]) * 0x100000001B3L;
+        }
+        return mix64(key);
+    }
+
+    // estimated Jaccard similarity of one part; 0 if either side has no shingles there
+    private static double partSimilarity(int[] a, int[] b, int offset) {
+        if (isEmpty(a, offset) || isEmpty(b, offset)) {
+            return 0;
+        }
+        int equal = 0;
+        for (int i = offset; i < offset + HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    // an untouched part keeps its fill value; a real minimum of MAX_VALUE at position 0 is negligible
+    private static boolean isEmpty(int[] signature, int offset) {
+        return signature[offset] == Integer.MAX_VALUE;
+    }
+
+    // one shingle updates every position of its part: hash i is h1 + i * h2 (Kirsch-Mitzenmacher)
+    private static void update(int[] signature, int offset, long shingle) {
+        long h1 = mix64(shingle);
+        long h2 = mix64(h1) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int h = (int) ((h1 + i * h2) >>> 32);
+            if (h < signature[offset + i]) {
+                signature[offset + i] = h;
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                out.append(c);
+                space = false;
+            } else if (!space) {
+                out.append(' ');
+                space = true;
+            }
+        }
+        int length = out.length();
+        if (length > 0 && out.charAt(length - 1) == ' ') {
+            out.setLength(length - 1);
+        }
+        return out.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
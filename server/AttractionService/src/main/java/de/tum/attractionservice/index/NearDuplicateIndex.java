@@ -0,0 +1,102 @@
+package de.tum.attractionservice.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * LSH index of {@link MinHash} signatures. A lookup only compares against entries sharing at least
+ * one band bucket, so screening a record costs a handful of comparisons instead of a catalog scan.
+ * Not thread-safe; owners guard it with their own lock.
+ */
+public final class NearDuplicateIndex {
+
+    /** Best candidate found by {@link #findBest}; {@code distanceKm} is NaN when a side has no coordinates. */
+    public record Match(long key, String name, double similarity, double distanceKm) {
+    }
+
+    private record Entry(String name, int[] signature, double latitude, double longitude) {
+    }
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, List<Long>> buckets = new HashMap<>();
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void put(long key, String name, int[] signature, double latitude, double longitude) {
+        remove(key);
+        if (signature == null) {
+            return;
+        }
+        entries.put(key, new Entry(name, signature, latitude, longitude));
+        for (int band = 0; band < MinHash.SIGNATURE_BANDS; band++) {
+            if (!MinHash.hasBand(signature, band)) {
+                continue;
+            }
+            buckets.computeIfAbsent(MinHash.bandKey(signature, band), k -> new ArrayList<>(2)).add(key);
+        }
+    }
+
+    public void remove(long key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        for (int band = 0; band < MinHash.SIGNATURE_BANDS; band++) {
+            if (!MinHash.hasBand(entry.signature(), band)) {
+                continue;
+            }
+            long bucketKey = MinHash.bandKey(entry.signature(), band);
+            List<Long> bucket = buckets.get(bucketKey);
+            if (bucket != null) {
+                bucket.remove(Long.valueOf(key));
+                if (bucket.isEmpty()) {
+                    buckets.remove(bucketKey);
+                }
+            }
+        }
+    }
+
+    /**
+     * Most similar entry with at least {@code minSimilarity} that lies within {@code maxDistanceKm}
+     * (the distance check is skipped when either side lacks coordinates), or {@code null}.
+     */
+    public Match findBest(int[] signature, double latitude, double longitude,
+                          double minSimilarity, double maxDistanceKm) {
+        if (signature == null) {
+            return null;
+        }
+        Set<Long> seen = new HashSet<>();
+        Match best = null;
+        for (int band = 0; band < MinHash.SIGNATURE_BANDS; band++) {
+            if (!MinHash.hasBand(signature, band)) {
+                continue;
+            }
+            List<Long> bucket = buckets.get(MinHash.bandKey(signature, band));
+            if (bucket == null) {
+                continue;
+            }
+            for (Long key : bucket) {
+                if (!seen.add(key)) {
+                    continue;
+                }
+                Entry entry = entries.get(key);
+                double similarity = MinHash.similarity(signature, entry.signature());
+                if (similarity < minSimilarity || (best != null && similarity <= best.similarity())) {
+                    continue;
+                }
+                double distance = GeoMath.distanceKm(latitude, longitude, entry.latitude(), entry.longitude());
+                if (distance > maxDistanceKm) {
+                    continue;
+                }
+                best = new Match(key, entry.name(), similarity, distance);
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,60 @@
+package de.tum.attractionservice.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only interned table of {@link WeeklySchedule} bitsets. Most attractions share one of a few
+ * opening patterns, so the read model stores an int reference per attraction instead of a bitset.
+ * Reference 0 is the empty schedule.
+ */
+public final class ScheduleTable {
+
+    public static final int NONE = 0;
+
+    private record Key(long[] slots) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Arrays.equals(slots, other.slots);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(slots);
+        }
+    }
+
+    private final List<long[]> values = new ArrayList<>();
+    private final Map<Key, Integer> refs = new HashMap<>();
+
+    public ScheduleTable() {
+        intern(new long[WeeklySchedule.WORDS]);
+    }
+
+    public int intern(long[] slots) {
+        Key key = new Key(slots.clone());
+        Integer ref = refs.get(key);
+        if (ref == null) {
+            ref = values.size();
+            values.add(key.slots());
+            refs.put(key, ref);
+        }
+        return ref;
+    }
+
+    /** The interned bitset; callers must not modify it. */
+    public long[] get(int ref) {
+        return values.get(ref);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public long sizeInBytes() {
+        return values.size() * (WeeklySchedule.WORDS * 8L + 96L);
+    }
+}
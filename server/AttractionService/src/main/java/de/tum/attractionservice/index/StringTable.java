@@ -0,0 +1,47 @@
+package de.tum.attractionservice.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only interned string table: equal strings share one int reference. Entries are never
+ * removed; owners rebuild the table to drop strings that are no longer referenced.
+ */
+public final class StringTable {
+
+    private final List<String> values = new ArrayList<>();
+    private final Map<String, Integer> refs = new HashMap<>();
+    private long chars;
+
+    public int intern(String value) {
+        Integer ref = refs.get(value);
+        if (ref == null) {
+            ref = values.size();
+            values.add(value);
+            refs.put(value, ref);
+            chars += value.length();
+        }
+        return ref;
+    }
+
+    /** Reference of {@code value}, or -1 if it was never interned. */
+    public int find(String value) {
+        Integer ref = refs.get(value);
+        return ref == null ? -1 : ref;
+    }
+
+    public String get(int ref) {
+        return values.get(ref);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    /** Rough heap estimate: string bytes plus per-entry object and map overhead. */
+    public long sizeInBytes() {
+        return chars + values.size() * 96L;
+    }
+}
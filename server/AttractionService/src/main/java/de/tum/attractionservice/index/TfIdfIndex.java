@@ -0,0 +1,395 @@
+package de.tum.attractionservice.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Inverted index of sparse TF-IDF vectors over attraction text, answering "more like this" by cosine
+ * similarity. Documents and posting lists are primitive arrays; a lookup only touches the postings of
+ * the query document's strongest terms. Not thread-safe; owners guard it with their own lock.
+ *
+ * <p>Removed documents leave dead slots in the posting lists, which queries skip and which are dropped
+ * when dead slots outnumber half the live ones. Document norms are computed with the IDF at indexing
+ * time and refreshed whenever the live count has halved or doubled since, so scores drift by a few
+ * percent at most between refreshes.
+ */
+public final class TfIdfIndex {
+
+    /** A similar document and its cosine similarity to the query document. */
+    public record Match(long id, long cityId, double score) {
+    }
+
+    // a few dozen terms already identify a description; common terms would only add long postings
+    private static final int MAX_QUERY_TERMS = 32;
+    private static final double MAX_DF_SHARE = 0.2;
+    private static final int MIN_TOKEN_LENGTH = 3;
+    private static final long DEAD = -1;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "the", "and", "for", "with", "from", "that", "this", "are", "was", "were", "has", "have", "had",
+            "its", "into", "also", "which", "who", "their", "there", "than", "then", "but", "not", "one",
+            "can", "been", "will", "more", "most", "over", "such", "other", "all", "any", "out", "about",
+            "der", "die", "das", "und", "mit", "von", "den", "dem", "des", "ein", "eine", "einer", "ist",
+            "auf", "für", "als", "auch", "sich", "bei", "aus", "nach", "wird", "sind", "zum", "zur");
+
+    private final StringTable terms = new StringTable();
+    private int[] df = new int[1024];
+    private int[][] postingSlots = new int[1024][];
+    private float[][] postingWeights = new float[1024][];
+    private int[] postingSizes = new int[1024];
+
+    private long[] ids = new long[1024];
+    private long[] cityIds = new long[1024];
+    private int[][] docTerms = new int[1024][];
+    private float[][] docWeights = new float[1024][];
+    private float[] norms = new float[1024];
+    private int slots;
+    private int live;
+    private int liveAtNormRefresh;
+    private final LongIntHashMap slotById = new LongIntHashMap(1024);
+
+    public int size() {
+        return live;
+    }
+
+    /** City of an indexed document, or -1. */
+    public long cityOf(long id) {
+        int slot = slotById.get(id);
+        return slot == LongIntHashMap.MISSING ? -1 : cityIds[slot];
+    }
+
+    /** Indexes (or re-indexes) a document; documents without any usable term are not indexed. */
+    public void put(long id, long cityId, String name, String description) {
+        remove(id);
+        Map<String, Integer> counts = new HashMap<>();
+        tokenize(name, counts);
+        tokenize(description, counts);
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        int[] termIds = new int[counts.size()];
+        float[] weights = new float[counts.size()];
+        int n = 0;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            termIds[n++] = terms.intern(entry.getKey());
+        }
+        Arrays.sort(termIds);
+        for (int i = 0; i < termIds.length; i++) {
+            weights[i] = (float) (1 + Math.log(counts.get(terms.get(termIds[i]))));
+        }
+
+        if (slots == ids.length) {
+            growDocs(slots * 2);
+        }
+        int slot = slots++;
+        ids[slot] = id;
+        cityIds[slot] = cityId;
+        docTerms[slot] = termIds;
+        docWeights[slot] = weights;
+        slotById.put(id, slot);
+        live++;
+        growTerms(terms.size());
+        for (int i = 0; i < termIds.length; i++) {
+            df[termIds[i]]++;
+            addPosting(termIds[i], slot, weights[i]);
+        }
+        norms[slot] = norm(termIds, weights);
+
+        if (live > 2 * liveAtNormRefresh) {
+            refreshNorms();
+        }
+    }
+
+    public void remove(long id) {
+        int slot = slotById.remove(id);
+        if (slot == LongIntHashMap.MISSING) {
+            return;
+        }
+        for (int term : docTerms[slot]) {
+            df[term]--;
+        }
+        ids[slot] = DEAD;
+        docTerms[slot] = null;
+        docWeights[slot] = null;
+        live--;
+
+        if (slots - live > Math.max(1024, live / 2)) {
+            compact();
+        } else if (live < liveAtNormRefresh / 2) {
+            refreshNorms();
+        }
+    }
+
+    /**
+     * Up to {@code k} documents most similar to the document {@code id}, best first, optionally only
+     * those in city {@code cityId} (pass a negative id for no restriction). Returns null if {@code id}
+     * is not indexed.
+     */
+    public List<Match> similar(long id, int k, long cityId) {
+        int query = slotById.get(id);
+        if (query == LongIntHashMap.MISSING) {
+            return null;
+        }
+        int[] queryTerms = strongestTerms(query);
+
+        // per query and sized by the postings it touches, not by the catalog
+        Scores scores = new Scores(64);
+        int[] termIds = docTerms[query];
+        float[] weights = docWeights[query];
+        for (int i : queryTerms) {
+            int term = termIds[i];
+            double idf = idf(term);
+            float queryWeight = (float) (weights[i] * idf * idf);
+            int[] postings = postingSlots[term];
+            float[] postingWeight = postingWeights[term];
+            for (int p = 0, end = postingSizes[term]; p < end; p++) {
+                int slot = postings[p];
+                if (slot == query || ids[slot] == DEAD || (cityId >= 0 && cityIds[slot] != cityId)) {
+                    continue;
+                }
+                scores.add(slot, queryWeight * postingWeight[p]);
+            }
+        }
+
+        double queryNorm = norms[query];
+        PriorityQueue<Match> best = new PriorityQueue<>(k + 1, (a, b) -> Double.compare(a.score(), b.score()));
+        for (int t = 0; t < scores.size(); t++) {
+            int slot = scores.slotAt(t);
+            double score = Math.min(1.0, scores.scoreAt(t) / (queryNorm * norms[slot]));
+            if (best.size() < k) {
+                best.add(new Match(ids[slot], cityIds[slot], score));
+            } else if (k > 0 && score > best.peek().score()) {
+                best.poll();
+                best.add(new Match(ids[slot], cityIds[slot], score));
+            }
+        }
+        List<Match> result = new ArrayList<>(best);
+        result.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return result;
+    }
+
+    /** Rough heap estimate of the postings, document vectors and term table. */
+    public long sizeInBytes() {
+        long bytes = terms.sizeInBytes() + df.length * 4L + postingSizes.length * 4L + slotById.sizeInBytes();
+        for (int t = 0; t < terms.size(); t++) {
+            bytes += postingSlots[t] == null ? 0 : postingSlots[t].length * 8L + 32;
+        }
+        bytes += ids.length * (2L * Long.BYTES + Float.BYTES + 32L);
+        for (int s = 0; s < slots; s++) {
+            bytes += docTerms[s] == null ? 0 : docTerms[s].length * 8L;
+        }
+        return bytes;
+    }
+
+    // positions in the query document's term array of its highest TF-IDF terms, skipping near-ubiquitous ones
+    private int[] strongestTerms(int slot) {
+        int[] termIds = docTerms[slot];
+        float[] weights = docWeights[slot];
+        Integer[] order = new Integer[termIds.length];
+        double[] scores = new double[termIds.length];
+        int n = 0;
+        for (int i = 0; i < termIds.length; i++) {
+            if (live >= 100 && df[termIds[i]] > live * MAX_DF_SHARE) {
+                continue;
+            }
+            scores[i] = weights[i] * idf(termIds[i]);
+            order[n++] = i;
+        }
+        Arrays.sort(order, 0, n, (a, b) -> Double.compare(scores[b], scores[a]));
+        int[] result = new int[Math.min(n, MAX_QUERY_TERMS)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = order[i];
+        }
+        return result;
+    }
+
+    private double idf(int term) {
+        return Math.log((live + 1.0) / (df[term] + 1.0)) + 1.0;
+    }
+
+    private float norm(int[] termIds, float[] weights) {
+        double sum = 0;
+        for (int i = 0; i < termIds.length; i++) {
+            double w = weights[i] * idf(termIds[i]);
+            sum += w * w;
+        }
+        return (float) Math.sqrt(sum);
+    }
+
+    private void refreshNorms() {
+        for (int s = 0; s < slots; s++) {
+            if (ids[s] != DEAD) {
+                norms[s] = norm(docTerms[s], docWeights[s]);
+            }
+        }
+        liveAtNormRefresh = live;
+    }
+
+    // renumbers live documents densely and rebuilds the postings without dead slots
+    private void compact() {
+        Arrays.fill(postingSizes, 0);
+        int next = 0;
+        for (int s = 0; s < slots; s++) {
+            if (ids[s] == DEAD) {
+                continue;
+            }
+            ids[next] = ids[s];
+            cityIds[next] = cityIds[s];
+            docTerms[next] = docTerms[s];
+            docWeights[next] = docWeights[s];
+            slotById.put(ids[next], next);
+            for (int i = 0; i < docTerms[next].length; i++) {
+                addPosting(docTerms[next][i], next, docWeights[next][i]);
+            }
+            next++;
+        }
+        for (int s = next; s < slots; s++) {
+            docTerms[s] = null;
+            docWeights[s] = null;
+        }
+        slots = next;
+        for (int t = 0; t < terms.size(); t++) {
+            if (postingSizes[t] == 0) {
+                postingSlots[t] = null;
+                postingWeights[t] = null;
+            } else if (postingSlots[t].length > 2 * postingSizes[t]) {
+                postingSlots[t] = Arrays.copyOf(postingSlots[t], postingSizes[t]);
+                postingWeights[t] = Arrays.copyOf(postingWeights[t], postingSizes[t]);
+            }
+        }
+        refreshNorms();
+    }
+
+    private void addPosting(int term, int slot, float weight) {
+        int size = postingSizes[term];
+        if (postingSlots[term] == null) {
+            postingSlots[term] = new int[4];
+            postingWeights[term] = new float[4];
+        } else if (size == postingSlots[term].length) {
+            postingSlots[term] = Arrays.copyOf(postingSlots[term], size * 2);
+            postingWeights[term] = Arrays.copyOf(postingWeights[term], size * 2);
+        }
+        postingSlots[term][size] = slot;
+        postingWeights[term][size] = weight;
+        postingSizes[term] = size + 1;
+    }
+
+    private void growTerms(int needed) {
+        if (needed <= df.length) {
+            return;
+        }
+        int capacity = Math.max(needed, df.length * 2);
+        df = Arrays.copyOf(df, capacity);
+        postingSlots = Arrays.copyOf(postingSlots, capacity);
+        postingWeights = Arrays.copyOf(postingWeights, capacity);
+        postingSizes = Arrays.copyOf(postingSizes, capacity);
+    }
+
+    private void growDocs(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        cityIds = Arrays.copyOf(cityIds, capacity);
+        docTerms = Arrays.copyOf(docTerms, capacity);
+        docWeights = Arrays.copyOf(docWeights, capacity);
+        norms = Arrays.copyOf(norms, capacity);
+    }
+
+    private static void tokenize(String text, Map<String, Integer> counts) {
+        if (text == null) {
+            return;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean letter = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                if (i - start >= MIN_TOKEN_LENGTH) {
+                    String token = lower.substring(start, i);
+                    if (!STOPWORDS.contains(token)) {
+                        counts.merge(token, 1, Integer::sum);
+                    }
+                }
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * Accumulated scores of the slots one query touched, in first-touched order. An open-addressing
+     * index over dense arrays; it grows with the postings read, so concurrent queries do not each hold
+     * an array as large as the catalog.
+     */
+    private static final class Scores {
+        private int[] slots;
+        private float[] values;
+        private int size;
+        // position + 1 of each slot in the dense arrays, 0 when empty
+        private int[] table;
+        private int mask;
+
+        Scores(int expectedSize) {
+            slots = new int[expectedSize];
+            values = new float[expectedSize];
+            allocate(Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1);
+        }
+
+        int size() {
+            return size;
+        }
+
+        int slotAt(int position) {
+            return slots[position];
+        }
+
+        float scoreAt(int position) {
+            return values[position];
+        }
+
+        void add(int slot, float value) {
+            int i = home(slot);
+            while (table[i] != 0) {
+                int position = table[i] - 1;
+                if (slots[position] == slot) {
+                    values[position] += value;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            slots[size] = slot;
+            values[size] = value;
+            table[i] = ++size;
+            if (size * 2 > table.length) {
+                allocate(table.length << 1);
+                for (int position = 0; position < size; position++) {
+                    int j = home(slots[position]);
+                    while (table[j] != 0) {
+                        j = (j + 1) & mask;
+                    }
+                    table[j] = position + 1;
+                }
+            }
+        }
+
+        private int home(int slot) {
+            int h = slot * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        private void allocate(int capacity) {
+            table = new int[capacity];
+            mask = capacity - 1;
+        }
+    }
+}
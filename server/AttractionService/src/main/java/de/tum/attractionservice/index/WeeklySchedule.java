@@ -0,0 +1,124 @@
+package de.tum.attractionservice.index;
+
+import de.tum.attractionservice.model.OpeningHours;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Weekly opening hours as a bitset of half-hour slots, slot 0 starting Monday 00:00 local time. An
+ * attraction counts as open in a slot if it is open when the slot starts. Intervals whose closing time
+ * is not after the opening time run past midnight; entries that cannot be parsed are ignored.
+ */
+public final class WeeklySchedule {
+
+    public static final int SLOT_MINUTES = 30;
+    public static final int SLOTS = 7 * 24 * 60 / SLOT_MINUTES;
+    public static final int WORDS = (SLOTS + 63) / 64;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final String[] DAYS =
+            {"monday", "tuesday", "wednesday", "thursday", "friday", "saturday", "sunday"};
+
+    private WeeklySchedule() {
+    }
+
+    public static long[] of(List<OpeningHours> hours) {
+        long[] slots = new long[WORDS];
+        if (hours == null) {
+            return slots;
+        }
+        for (OpeningHours entry : hours) {
+            add(slots, entry.getDay(), entry.getFromTime(), entry.getToTime());
+        }
+        return slots;
+    }
+
+    /** Adds one {@code day from - to} entry; returns false if it could not be parsed. */
+    public static boolean add(long[] slots, String day, String fromTime, String toTime) {
+        int dayIndex = dayIndex(day);
+        int from = minuteOfDay(fromTime);
+        int to = minuteOfDay(toTime);
+        if (dayIndex < 0 || from < 0 || to < 0) {
+            return false;
+        }
+        if (to <= from) {
+            to += MINUTES_PER_DAY;
+        }
+        int start = dayIndex * MINUTES_PER_DAY;
+        for (int slot = (from + SLOT_MINUTES - 1) / SLOT_MINUTES; slot * SLOT_MINUTES < to; slot++) {
+            int index = (start / SLOT_MINUTES + slot) % SLOTS;
+            slots[index >>> 6] |= 1L << index;
+        }
+        return true;
+    }
+
+    public static boolean isOpen(long[] slots, int slot) {
+        return (slots[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    public static boolean isEmpty(long[] slots) {
+        for (long word : slots) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Slot containing {@code instant} in a place whose local time is UTC plus {@code offset}. */
+    public static int slotAt(Instant instant, ZoneOffset offset) {
+        OffsetDateTime local = instant.atOffset(offset);
+        int minuteOfWeek = (local.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY
+                + local.getHour() * 60 + local.getMinute();
+        return minuteOfWeek / SLOT_MINUTES;
+    }
+
+    /**
+     * Local time offset estimated from a longitude (15 degrees per hour). Cities carry no time zone,
+     * and for an open-now share the solar offset is close enough.
+     */
+    public static ZoneOffset offsetForLongitude(double longitude) {
+        if (Double.isNaN(longitude)) {
+            return ZoneOffset.UTC;
+        }
+        int hours = (int) Math.round(longitude / 15.0);
+        return ZoneOffset.ofHours(Math.max(-12, Math.min(14, hours)));
+    }
+
+    private static int dayIndex(String day) {
+        if (day == null) {
+            return -1;
+        }
+        String normalized = day.trim().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < DAYS.length; i++) {
+            if (DAYS[i].equals(normalized)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // "H:mm" or "HH:mm"; "24:00" is accepted as end of day
+    private static int minuteOfDay(String time) {
+        if (time == null) {
+            return -1;
+        }
+        String trimmed = time.trim();
+        int colon = trimmed.indexOf(':');
+        if (colon < 1 || colon != trimmed.length() - 3) {
+            return -1;
+        }
+        try {
+            int hour = Integer.parseInt(trimmed.substring(0, colon));
+            int minute = Integer.parseInt(trimmed.substring(colon + 1));
+            int value = hour * 60 + minute;
+            return hour < 0 || minute < 0 || minute > 59 || value > MINUTES_PER_DAY ? -1 : value;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package de.tum.attractionservice.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many JDBC executions each request caused, per endpoint template, as
+ * {@code attraction_service_http_queries_per_request}. Runs outermost so that queries issued by
+ * security filters and interceptors are included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueriesPerRequestFilter extends OncePerRequestFilter {
+
+    private final QueryTelemetry queryTelemetry;
+    private final MeterRegistry registry;
+
+    public QueriesPerRequestFilter(QueryTelemetry queryTelemetry, MeterRegistry registry) {
+        this.queryTelemetry = queryTelemetry;
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        queryTelemetry.resetCount();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary
+                    .builder("attraction_service_http_queries_per_request")
+                    .description("JDBC executions caused by one request")
+                    .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                    .tag("method", request.getMethod())
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(1000.0)
+                    .register(registry)
+                    .record(queryTelemetry.currentCount());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package de.tum.attractionservice.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sees every JDBC execution (JPA and hand-written SQL alike) through the data source proxy. Times
+ * statements by type, logs statements slower than {@code slow-query-threshold-ms} with their
+ * normalized fingerprint, and counts executions per thread for the queries-per-request histogram.
+ */
+@Component
+public class QueryTelemetry implements QueryExecutionListener {
+
+    private static final Logger slowQueryLog = LoggerFactory.getLogger("de.tum.attractionservice.sql.slow");
+
+    private final ThreadLocal<int[]> executions = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Counter slowQueryCounter;
+
+    @Value("${application.telemetry.slow-query-threshold-ms:200}")
+    private long slowQueryThresholdMs;
+
+    public QueryTelemetry(MeterRegistry registry) {
+        this.registry = registry;
+
+        this.slowQueryCounter = Counter
+                .builder("attraction_service_sql_slow_queries_total")
+                .description("Statements slower than the slow-query threshold")
+                .register(registry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        executions.get()[0]++;
+
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        long elapsedMs = execInfo.getElapsedTime();
+        String type = statementType(sql);
+        timers.computeIfAbsent(execInfo.isBatch() ? type + ":batch" : type, key -> Timer
+                        .builder("attraction_service_sql_query_duration_seconds")
+                        .description("Latency of JDBC executions by statement type")
+                        .tag("type", type)
+                        .tag("batch", Boolean.toString(execInfo.isBatch()))
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(elapsedMs, TimeUnit.MILLISECONDS);
+
+        if (elapsedMs >= slowQueryThresholdMs) {
+            slowQueryCounter.increment();
+            String fingerprint = SqlFingerprint.of(sql);
+            slowQueryLog.warn("Slow query took {} ms (fingerprint {}, batch size {}): {}",
+                    elapsedMs, SqlFingerprint.id(fingerprint), execInfo.isBatch() ? execInfo.getBatchSize() : 1,
+                    fingerprint);
+        }
+    }
+
+    /** Starts counting executions for the current thread (e.g. at the start of a request). */
+    public void resetCount() {
+        executions.get()[0] = 0;
+    }
+
+    /** Executions on the current thread since the last {@link #resetCount()}. */
+    public int currentCount() {
+        return executions.get()[0];
+    }
+
+    private static String statementType(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "with" -> "select";
+            case "insert", "update", "delete", "merge", "copy" -> keyword;
+            default -> "other";
+        };
+    }
+}
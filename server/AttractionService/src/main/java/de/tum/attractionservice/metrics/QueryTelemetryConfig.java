@@ -0,0 +1,35 @@
+package de.tum.attractionservice.metrics;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes the application's data source through a proxy that reports every execution to
+ * {@link QueryTelemetry} and to any other {@link QueryExecutionListener} bean (the test suites add a
+ * statement recorder this way). The proxy unwraps to the pool, so Hikari's pool metrics keep working.
+ */
+@Configuration
+public class QueryTelemetryConfig {
+
+    @Bean
+    public static BeanPostProcessor queryTelemetryDataSourceProxy(ObjectProvider<QueryExecutionListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+                    listeners.orderedStream().forEach(builder::listener);
+                    return builder.build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package de.tum.attractionservice.metrics;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalized form of a SQL statement: literals become {@code ?}, {@code IN} lists collapse to one
+ * placeholder, whitespace and case are folded. Statements that differ only in their values share a
+ * fingerprint, so slow-query log lines can be grouped.
+ */
+public final class SqlFingerprint {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern VALUES_LIST = Pattern.compile("(?i)\\bvalues\\s*(\\([^()]*\\))(?:\\s*,\\s*\\([^()]*\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (?)");
+        normalized = VALUES_LIST.matcher(normalized).replaceAll("values $1");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ");
+        return normalized.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Short stable id of a fingerprint, handy for grepping logs. */
+    public static String id(String fingerprint) {
+        return String.format("%08x", fingerprint.hashCode());
+    }
+}
@@ -1,10 +1,10 @@
 package de.tum.attractionservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.net.URL;
 import java.util.List;
 
 @Setter
@@ -35,12 +35,20 @@ public class AttractionEntity {
     @CollectionTable(name = "opening_hours", joinColumns = @JoinColumn(name = "id"))
     private List<OpeningHours> openingHours;
 
-    @ElementCollection
-    @CollectionTable(name = "photos", joinColumns = @JoinColumn(name = "id"))
-    private List<URL> photos;
+    @ManyToMany
+    @JoinTable(name = "attraction_photos",
+            joinColumns = @JoinColumn(name = "attraction_id"),
+            inverseJoinColumns = @JoinColumn(name = "photo_id"))
+    @OrderColumn(name = "position")
+    private List<PhotoEntity> photos;
 
     private String website;
 
+    // hash of the imported source record; lets re-imports skip unchanged rows
+    @JsonIgnore
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     public AttractionEntity() {
     }
 
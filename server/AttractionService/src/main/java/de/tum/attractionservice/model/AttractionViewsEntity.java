@@ -0,0 +1,26 @@
+package de.tum.attractionservice.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Persisted view total of one attraction. Written only in batches of aggregated deltas by
+ * {@code ViewCounterService}, never once per view; mapped so that the schema is generated.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "attraction_views")
+public class AttractionViewsEntity {
+
+    @Id
+    @Column(name = "attraction_id")
+    private Long attractionId;
+
+    @Column(nullable = false)
+    private long views;
+
+    public AttractionViewsEntity() {
+    }
+}
@@ -0,0 +1,44 @@
+package de.tum.attractionservice.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * One entry of the catalog change feed. {@code seq} is allocated under a row lock on
+ * {@link ChangeSequenceEntity}, so sequence order equals commit order and a consumer that
+ * resumes from its last seen {@code seq} never misses a change.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "catalog_changes",
+        indexes = @Index(name = "idx_catalog_changes_entity", columnList = "entity_type, entity_id"))
+public class ChangeEventEntity {
+
+    public enum EntityType { ATTRACTION, CITY }
+
+    public enum Operation { UPSERT, DELETE }
+
+    @Id
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Operation operation;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    public ChangeEventEntity() {
+    }
+}
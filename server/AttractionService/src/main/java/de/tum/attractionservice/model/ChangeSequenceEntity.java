@@ -0,0 +1,27 @@
+package de.tum.attractionservice.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Single-row counter behind the change feed. Writers lock the row for the rest of their
+ * transaction, which serializes catalog writes but keeps the sequence gap-free in commit order.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "catalog_change_sequence")
+public class ChangeSequenceEntity {
+    public static final long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    // "value" is a reserved word in H2
+    @Column(name = "last_seq", nullable = false)
+    private long value;
+
+    public ChangeSequenceEntity() {
+    }
+}
@@ -3,12 +3,23 @@ package de.tum.attractionservice.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+/**
+ * Reference data read on nearly every attraction load and rewritten rarely, so rows and name
+ * lookups live in the second-level cache (regions sized in {@code ehcache.xml}).
+ */
 @Setter
 @Getter
 @Entity
 @Table(name = "cities")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CityEntity.CACHE_REGION)
 public class CityEntity {
+    public static final String CACHE_REGION = "cities";
+    public static final String QUERY_CACHE_REGION = "cities-queries";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -0,0 +1,50 @@
+package de.tum.attractionservice.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Shared, content-addressed photo row: the id is the SHA-256 of the URL, so every attraction
+ * using the same URL references one row. Serialized as the bare URL string.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "photo_urls")
+public class PhotoEntity {
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @JsonValue
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private PhotoUrl url;
+
+    public PhotoEntity() {
+    }
+
+    public static PhotoEntity of(PhotoUrl url) {
+        PhotoEntity photo = new PhotoEntity();
+        photo.setId(url.contentHash());
+        photo.setUrl(url);
+        return photo;
+    }
+
+    @JsonCreator
+    public static PhotoEntity of(String url) {
+        return of(PhotoUrl.parse(url));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof PhotoEntity other && id != null && id.equals(other.getId()));
+    }
+
+    @Override
+    public int hashCode() {
+        return id == null ? 0 : id.hashCode();
+    }
+}
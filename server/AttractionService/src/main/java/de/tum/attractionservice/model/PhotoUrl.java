@@ -0,0 +1,81 @@
+package de.tum.attractionservice.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Validated http(s) photo address. Unlike {@link java.net.URL}, equality and hashing are plain
+ * string operations and never trigger DNS resolution. Only the normalized string is retained.
+ */
+public final class PhotoUrl {
+
+    private final String value;
+    private String contentHash;
+
+    private PhotoUrl(String value) {
+        this.value = value;
+    }
+
+    @JsonCreator
+    public static PhotoUrl parse(String raw) {
+        if (raw == null || raw.isBlank()) {
+            throw new IllegalArgumentException("Photo URL must not be empty");
+        }
+        String trimmed = raw.trim();
+        URI uri;
+        try {
+            uri = new URI(trimmed);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid photo URL: " + raw, e);
+        }
+        String scheme = uri.getScheme();
+        if (scheme == null || !(scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https")) || uri.getHost() == null) {
+            throw new IllegalArgumentException("Photo URL must be an absolute http(s) URL: " + raw);
+        }
+        // scheme names are case-insensitive; keep everything else as sent
+        return new PhotoUrl(scheme.toLowerCase(Locale.ROOT) + trimmed.substring(scheme.length()));
+    }
+
+    @JsonValue
+    public String value() {
+        return value;
+    }
+
+    /** Hex SHA-256 of the normalized URL; the content address of the shared photo row. */
+    public String contentHash() {
+        String hash = contentHash;
+        if (hash == null) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+                hash = HexFormat.of().formatHex(digest);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+            contentHash = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof PhotoUrl other && value.equals(other.value));
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
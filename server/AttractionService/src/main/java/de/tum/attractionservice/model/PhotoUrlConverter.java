@@ -0,0 +1,18 @@
+package de.tum.attractionservice.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class PhotoUrlConverter implements AttributeConverter<PhotoUrl, String> {
+
+    @Override
+    public String convertToDatabaseColumn(PhotoUrl attribute) {
+        return attribute == null ? null : attribute.value();
+    }
+
+    @Override
+    public PhotoUrl convertToEntityAttribute(String dbData) {
+        return dbData == null ? null : PhotoUrl.parse(dbData);
+    }
+}
@@ -0,0 +1,29 @@
+package de.tum.attractionservice.ranking;
+
+import de.tum.attractionservice.index.CatalogReadModel;
+
+/**
+ * One factor of the multi-factor ranking. Every scorer bean is picked up by {@link RankingEngine},
+ * which sums the weighted factor scores of each candidate.
+ */
+public interface AttractionScorer {
+
+    /** Scores one slot of the read model between 0 (worst) and 1 (best); must be thread-safe. */
+    @FunctionalInterface
+    interface SlotScorer {
+        double score(int slot);
+    }
+
+    /** Factor name as used in results and metrics. */
+    String name();
+
+    double weight();
+
+    /** Whether a candidate scoring 0 on this factor is dropped rather than ranked last. */
+    default boolean required() {
+        return false;
+    }
+
+    /** Scoring function for one query, or null if the query gives this factor nothing to score. */
+    SlotScorer prepare(RankingQuery query, CatalogReadModel.Columns columns);
+}
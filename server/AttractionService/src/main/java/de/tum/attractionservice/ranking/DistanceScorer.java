@@ -0,0 +1,42 @@
+package de.tum.attractionservice.ranking;
+
+import de.tum.attractionservice.index.CatalogReadModel;
+import de.tum.attractionservice.index.GeoMath;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/** Closeness to the caller; the score halves with every {@code half-distance-km}. */
+@Component
+public class DistanceScorer implements AttractionScorer {
+
+    @Value("${application.ranking.distance.weight:1.0}")
+    private double weight;
+
+    @Value("${application.ranking.distance.half-distance-km:2.0}")
+    private double halfDistanceKm;
+
+    @Override
+    public String name() {
+        return "distance";
+    }
+
+    @Override
+    public double weight() {
+        return weight;
+    }
+
+    @Override
+    public SlotScorer prepare(RankingQuery query, CatalogReadModel.Columns columns) {
+        if (!query.hasLocation()) {
+            return null;
+        }
+        double latitude = query.latitude();
+        double longitude = query.longitude();
+        double decay = Math.log(2) / halfDistanceKm;
+        return slot -> {
+            double km = GeoMath.distanceKm(latitude, longitude, columns.latitude(slot), columns.longitude(slot));
+            // attractions without coordinates compare as NaN; they rank as if infinitely far away
+            return Double.isNaN(km) ? 0 : Math.exp(-decay * km);
+        };
+    }
+}
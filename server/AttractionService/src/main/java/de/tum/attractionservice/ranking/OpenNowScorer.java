@@ -0,0 +1,41 @@
+package de.tum.attractionservice.ranking;
+
+import de.tum.attractionservice.index.CatalogReadModel;
+import de.tum.attractionservice.index.WeeklySchedule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Whether the attraction is open at the query instant, in local time estimated from its longitude.
+ * Attractions without known opening hours score in between open and closed ones.
+ */
+@Component
+public class OpenNowScorer implements AttractionScorer {
+
+    private static final double UNKNOWN = 0.5;
+
+    @Value("${application.ranking.open-now.weight:0.5}")
+    private double weight;
+
+    @Override
+    public String name() {
+        return "openNow";
+    }
+
+    @Override
+    public double weight() {
+        return weight;
+    }
+
+    @Override
+    public SlotScorer prepare(RankingQuery query, CatalogReadModel.Columns columns) {
+        return slot -> {
+            long[] schedule = columns.schedule(slot);
+            if (WeeklySchedule.isEmpty(schedule)) {
+                return UNKNOWN;
+            }
+            int now = WeeklySchedule.slotAt(query.now(), WeeklySchedule.offsetForLongitude(columns.longitude(slot)));
+            return WeeklySchedule.isOpen(schedule, now) ? 1 : 0;
+        };
+    }
+}
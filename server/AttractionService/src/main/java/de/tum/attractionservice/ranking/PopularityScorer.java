@@ -0,0 +1,52 @@
+package de.tum.attractionservice.ranking;
+
+import de.tum.attractionservice.index.CatalogReadModel;
+import de.tum.attractionservice.index.LongIntHashMap;
+import de.tum.attractionservice.service.ViewCounterService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Detail-page views relative to the most viewed attraction, on a log scale so that a handful of very
+ * popular attractions does not flatten everything else to 0.
+ */
+@Component
+public class PopularityScorer implements AttractionScorer {
+
+    private final ViewCounterService viewCounter;
+
+    @Value("${application.ranking.popularity.weight:0.5}")
+    private double weight;
+
+    public PopularityScorer(ViewCounterService viewCounter) {
+        this.viewCounter = viewCounter;
+    }
+
+    @Override
+    public String name() {
+        return "popularity";
+    }
+
+    @Override
+    public double weight() {
+        return weight;
+    }
+
+    @Override
+    public SlotScorer prepare(RankingQuery query, CatalogReadModel.Columns columns) {
+        long max = viewCounter.maxViews();
+        if (max == 0) {
+            return null;
+        }
+        double scale = Math.log1p(max);
+        // one pass over the counters per query; scoring by slot then never calls back into the service
+        double[] scores = new double[columns.size()];
+        viewCounter.forEachTotal((id, views) -> {
+            int slot = columns.slotOf(id);
+            if (slot != LongIntHashMap.MISSING) {
+                scores[slot] = Math.min(1, Math.log1p(views) / scale);
+            }
+        });
+        return slot -> scores[slot];
+    }
+}
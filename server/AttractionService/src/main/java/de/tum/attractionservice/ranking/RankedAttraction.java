@@ -0,0 +1,7 @@
+package de.tum.attractionservice.ranking;
+
+import java.util.Map;
+
+/** A ranked attraction with its total score and the unweighted score of every factor that applied. */
+public record RankedAttraction(Long id, String name, Long cityId, double score, Map<String, Double> factors) {
+}
@@ -0,0 +1,7 @@
+package de.tum.attractionservice.ranking;
+
+import java.util.List;
+
+/** The best attractions of one ranking, best first, and how many candidates were ranked. */
+public record Ranking(List<RankedAttraction> attractions, int candidates) {
+}
@@ -0,0 +1,175 @@
+package de.tum.attractionservice.ranking;
+
+import de.tum.attractionservice.index.CatalogReadModel;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Multi-factor "best for me right now" ranking over the {@link CatalogReadModel}. Every
+ * {@link AttractionScorer} bean contributes one weighted factor; adding a factor means adding a bean.
+ *
+ * <p>A ranking runs in four timed stages under the read model's read lock: collect candidate slots,
+ * score them, select the best {@code k} and resolve the results. Scoring and selection split the
+ * candidates into chunks processed in parallel; selection keeps one bounded heap per chunk and merges
+ * them, so no stage sorts more than {@code k} entries.
+ */
+@Component
+public class RankingEngine {
+
+    public static final int MAX_RESULTS = 200;
+
+    private final CatalogReadModel readModel;
+    private final List<AttractionScorer> scorers;
+
+    private final Timer candidatesTimer;
+    private final Timer scoringTimer;
+    private final Timer selectionTimer;
+    private final Timer resultsTimer;
+    private final DistributionSummary candidatesSummary;
+
+    @Value("${application.ranking.chunk-size:16384}")
+    private int chunkSize;
+
+    public RankingEngine(CatalogReadModel readModel, List<AttractionScorer> scorers, MeterRegistry registry) {
+        this.readModel = readModel;
+        this.scorers = List.copyOf(scorers);
+
+        this.candidatesTimer = stageTimer(registry, "candidates");
+        this.scoringTimer = stageTimer(registry, "scoring");
+        this.selectionTimer = stageTimer(registry, "selection");
+        this.resultsTimer = stageTimer(registry, "results");
+        this.candidatesSummary = DistributionSummary
+                .builder("attraction_service_ranking_candidates")
+                .description("Candidates scored per ranking")
+                .register(registry);
+    }
+
+    public Ranking rank(RankingQuery query, int limit) {
+        int k = Math.max(1, Math.min(limit, MAX_RESULTS));
+        return readModel.read(columns -> {
+            int[] candidates = candidatesTimer.record(() -> candidates(query, columns));
+
+            List<AttractionScorer> active = new ArrayList<>(scorers.size());
+            List<AttractionScorer.SlotScorer> functions = new ArrayList<>(scorers.size());
+            for (AttractionScorer scorer : scorers) {
+                if (scorer.weight() <= 0) {
+                    continue;
+                }
+                AttractionScorer.SlotScorer function = scorer.prepare(query, columns);
+                if (function != null) {
+                    active.add(scorer);
+                    functions.add(function);
+                }
+            }
+
+            double[] scores = new double[candidates.length];
+            int matched = scoringTimer.record(() -> score(candidates, scores, active, functions));
+            candidatesSummary.record(matched);
+            int[] best = selectionTimer.record(() -> select(candidates, scores, k, columns));
+            List<RankedAttraction> results = resultsTimer.record(() -> {
+                List<RankedAttraction> list = new ArrayList<>(best.length);
+                for (int index : best) {
+                    int slot = candidates[index];
+                    Map<String, Double> factors = new LinkedHashMap<>();
+                    for (int f = 0; f < functions.size(); f++) {
+                        factors.put(active.get(f).name(), functions.get(f).score(slot));
+                    }
+                    list.add(new RankedAttraction(columns.id(slot), columns.name(slot), columns.cityId(slot),
+                            scores[index], factors));
+                }
+                return list;
+            });
+            return new Ranking(results, matched);
+        });
+    }
+
+    private static int[] candidates(RankingQuery query, CatalogReadModel.Columns columns) {
+        int size = columns.size();
+        if (query.cityId() == null) {
+            return IntStream.range(0, size).toArray();
+        }
+        long cityId = query.cityId();
+        int[] slots = new int[16];
+        int n = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (columns.cityId(slot) == cityId) {
+                if (n == slots.length) {
+                    slots = Arrays.copyOf(slots, n * 2);
+                }
+                slots[n++] = slot;
+            }
+        }
+        return Arrays.copyOf(slots, n);
+    }
+
+    // weighted sum per candidate, NaN for candidates dropped by a required factor; returns the kept count
+    private int score(int[] candidates, double[] scores, List<AttractionScorer> active,
+                      List<AttractionScorer.SlotScorer> functions) {
+        int factors = functions.size();
+        double[] weights = new double[factors];
+        boolean[] required = new boolean[factors];
+        for (int f = 0; f < factors; f++) {
+            weights[f] = active.get(f).weight();
+            required[f] = active.get(f).required();
+        }
+        return chunks(candidates.length).map(chunk -> {
+            int kept = 0;
+            for (int i = chunk * chunkSize, end = Math.min(candidates.length, i + chunkSize); i < end; i++) {
+                int slot = candidates[i];
+                double sum = 0;
+                for (int f = 0; f < factors; f++) {
+                    double score = functions.get(f).score(slot);
+                    if (required[f] && score == 0) {
+                        sum = Double.NaN;
+                        break;
+                    }
+                    sum += weights[f] * score;
+                }
+                scores[i] = sum;
+                if (!Double.isNaN(sum)) {
+                    kept++;
+                }
+            }
+            return kept;
+        }).sum();
+    }
+
+    // candidate indices of the k best scores, best first
+    private int[] select(int[] candidates, double[] scores, int k, CatalogReadModel.Columns columns) {
+        return chunks(candidates.length).mapToObj(chunk -> {
+            TopK top = new TopK(k);
+            for (int i = chunk * chunkSize, end = Math.min(candidates.length, i + chunkSize); i < end; i++) {
+                if (!Double.isNaN(scores[i])) {
+                    top.offer(i, scores[i], columns.id(candidates[i]));
+                }
+            }
+            return top;
+        }).reduce((a, b) -> {
+            a.addAll(b);
+            return a;
+        }).map(TopK::drain).orElse(new int[0]);
+    }
+
+    private IntStream chunks(int candidates) {
+        int chunks = (candidates + chunkSize - 1) / chunkSize;
+        IntStream stream = IntStream.range(0, chunks);
+        return chunks > 1 ? stream.parallel() : stream;
+    }
+
+    private static Timer stageTimer(MeterRegistry registry, String stage) {
+        return Timer.builder("attraction_service_ranking_stage_duration_seconds")
+                .description("Time spent in one stage of a multi-factor ranking")
+                .tag("stage", stage)
+                .register(registry);
+    }
+}
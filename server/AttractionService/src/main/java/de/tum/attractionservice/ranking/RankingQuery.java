@@ -0,0 +1,18 @@
+package de.tum.attractionservice.ranking;
+
+import java.time.Instant;
+
+/**
+ * What a ranking is for: the caller's position and search text (both optional), an optional city to
+ * rank within, and the instant that "open now" refers to.
+ */
+public record RankingQuery(Double latitude, Double longitude, String text, Long cityId, Instant now) {
+
+    public boolean hasLocation() {
+        return latitude != null && longitude != null;
+    }
+
+    public boolean hasText() {
+        return text != null && !text.isBlank();
+    }
+}
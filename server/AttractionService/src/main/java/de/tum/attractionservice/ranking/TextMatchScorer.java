@@ -0,0 +1,79 @@
+package de.tum.attractionservice.ranking;
+
+import de.tum.attractionservice.index.CatalogReadModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Share of the search words that start a word of the attraction name, so "cath" matches
+ * "St. Mary's Cathedral". Attractions matching none of the words are dropped.
+ */
+@Component
+public class TextMatchScorer implements AttractionScorer {
+
+    @Value("${application.ranking.text.weight:2.0}")
+    private double weight;
+
+    @Override
+    public String name() {
+        return "text";
+    }
+
+    @Override
+    public double weight() {
+        return weight;
+    }
+
+    @Override
+    public boolean required() {
+        return true;
+    }
+
+    @Override
+    public SlotScorer prepare(RankingQuery query, CatalogReadModel.Columns columns) {
+        if (!query.hasText()) {
+            return null;
+        }
+        String[] words = words(query.text());
+        if (words.length == 0) {
+            return null;
+        }
+        return slot -> {
+            String name = columns.name(slot);
+            if (name == null) {
+                return 0;
+            }
+            String lower = name.toLowerCase(Locale.ROOT);
+            int matched = 0;
+            for (String word : words) {
+                if (startsWord(lower, word)) {
+                    matched++;
+                }
+            }
+            return (double) matched / words.length;
+        };
+    }
+
+    private static boolean startsWord(String text, String word) {
+        for (int i = text.indexOf(word); i >= 0; i = text.indexOf(word, i + 1)) {
+            if (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String[] words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty() && !words.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,104 @@
+package de.tum.attractionservice.ranking;
+
+/**
+ * Bounded heap keeping the {@code k} best (score, item) pairs seen, with the worst kept pair on top,
+ * so each offer costs O(log k) and nothing beyond {@code k} pairs is ever held. Equal scores prefer the
+ * lower tie-break key, which keeps rankings stable between calls. Not thread-safe.
+ */
+final class TopK {
+
+    private final int k;
+    private final double[] scores;
+    private final int[] items;
+    private final long[] ties;
+    private int size;
+
+    TopK(int k) {
+        this.k = k;
+        this.scores = new double[k];
+        this.items = new int[k];
+        this.ties = new long[k];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void offer(int item, double score, long tie) {
+        if (size < k) {
+            int i = size++;
+            set(i, item, score, tie);
+            siftUp(i);
+        } else if (k > 0 && worse(scores[0], ties[0], score, tie)) {
+            set(0, item, score, tie);
+            siftDown(0);
+        }
+    }
+
+    void addAll(TopK other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.items[i], other.scores[i], other.ties[i]);
+        }
+    }
+
+    /** Items best first; empties the heap. */
+    int[] drain() {
+        int[] sorted = new int[size];
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            sorted[i] = items[0];
+            size--;
+            if (size > 0) {
+                set(0, items[size], scores[size], ties[size]);
+                siftDown(0);
+            }
+        }
+        return sorted;
+    }
+
+    // whether (scoreA, tieA) ranks below (scoreB, tieB)
+    private static boolean worse(double scoreA, long tieA, double scoreB, long tieB) {
+        return scoreA < scoreB || (scoreA == scoreB && tieA > tieB);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!worse(scores[i], ties[i], scores[parent], ties[parent])) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && worse(scores[child + 1], ties[child + 1], scores[child], ties[child])) {
+                child++;
+            }
+            if (!worse(scores[child], ties[child], scores[i], ties[i])) {
+                break;
+            }
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private void set(int i, int item, double score, long tie) {
+        items[i] = item;
+        scores[i] = score;
+        ties[i] = tie;
+    }
+
+    private void swap(int a, int b) {
+        int item = items[a];
+        double score = scores[a];
+        long tie = ties[a];
+        set(a, items[b], scores[b], ties[b]);
+        set(b, item, score, tie);
+    }
+}
@@ -1,18 +1,99 @@
 package de.tum.attractionservice.repository;
 
+import de.tum.attractionservice.export.AttractionSnapshotRow;
+import de.tum.attractionservice.export.AttractionSummary;
+import de.tum.attractionservice.export.CoverPhotoRow;
+import de.tum.attractionservice.export.OpeningHoursRow;
+import de.tum.attractionservice.importer.ExistingAttraction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import de.tum.attractionservice.model.AttractionEntity;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AttractionRepository extends JpaRepository<AttractionEntity, Long> {
     Optional<AttractionEntity> findByName(String name);
+
+    // Listing pages join the to-one associations; the collections are batch-fetched per page
+    @EntityGraph(attributePaths = {"location", "city"})
+    Page<AttractionEntity> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"location", "city"})
     Page<AttractionEntity> findByCity_Name(String cityName, Pageable pageable);
+
     Optional<AttractionEntity> findById(Long id);
+    List<AttractionEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("""
+            select new de.tum.attractionservice.importer.ExistingAttraction(a.id, a.name, a.contentHash)
+            from AttractionEntity a
+            where a.name in :names
+            """)
+    List<ExistingAttraction> findExistingByNames(@Param("names") Collection<String> names);
+
+    // Constructor projection so rows are never attached to the persistence context; with a fetch size
+    // inside a read-only transaction the Postgres driver reads through a server-side cursor.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new de.tum.attractionservice.export.AttractionSnapshotRow(
+                a.id, a.name, a.description, a.website,
+                c.id, c.name, c.country,
+                l.address, l.country, l.latitude, l.longitude)
+            from AttractionEntity a
+            join a.city c
+            join a.location l
+            order by a.id
+            """)
+    Stream<AttractionSnapshotRow> streamSnapshot();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new de.tum.attractionservice.export.OpeningHoursRow(a.id, oh.day, oh.fromTime, oh.toTime)
+            from AttractionEntity a
+            join a.openingHours oh
+            order by a.id
+            """)
+    Stream<OpeningHoursRow> streamOpeningHours();
+
+    // Description is cut in the database so long texts never leave it; the caller shortens it further.
+    // Most viewed first by the flushed view totals, which are exact across instances; ties by name.
+    @Query("""
+            select new de.tum.attractionservice.export.AttractionSummary(
+                a.id, a.name, substring(a.description, 1, 281), a.website,
+                l.address, l.latitude, l.longitude)
+            from AttractionEntity a
+            join a.location l
+            left join AttractionViewsEntity v on v.attractionId = a.id
+            where a.city.id = :cityId
+            order by coalesce(v.views, 0) desc, a.name
+            """)
+    List<AttractionSummary> findSummariesByCityId(@Param("cityId") Long cityId, Pageable pageable);
+
+    @Query("""
+            select new de.tum.attractionservice.export.CoverPhotoRow(a.id, p.url)
+            from AttractionEntity a
+            join a.photos p
+            where a.id in :ids and index(p) = 0
+            """)
+    List<CoverPhotoRow> findCoverPhotos(@Param("ids") Collection<Long> ids);
 
 }
\ No newline at end of file
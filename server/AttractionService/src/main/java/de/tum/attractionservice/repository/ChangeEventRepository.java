@@ -0,0 +1,13 @@
+package de.tum.attractionservice.repository;
+
+import de.tum.attractionservice.model.ChangeEventEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ChangeEventRepository extends JpaRepository<ChangeEventEntity, Long> {
+    List<ChangeEventEntity> findBySeqGreaterThanOrderBySeqAsc(Long since, Pageable pageable);
+}
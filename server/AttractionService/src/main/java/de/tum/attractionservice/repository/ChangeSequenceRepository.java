@@ -0,0 +1,18 @@
+package de.tum.attractionservice.repository;
+
+import de.tum.attractionservice.model.ChangeSequenceEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ChangeSequenceRepository extends JpaRepository<ChangeSequenceEntity, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ChangeSequenceEntity s where s.id = :id")
+    Optional<ChangeSequenceEntity> lockById(@Param("id") Long id);
+}
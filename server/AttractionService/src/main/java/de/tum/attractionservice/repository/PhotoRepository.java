@@ -0,0 +1,9 @@
+package de.tum.attractionservice.repository;
+
+import de.tum.attractionservice.model.PhotoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PhotoRepository extends JpaRepository<PhotoEntity, String> {
+}
@@ -45,6 +45,7 @@ public class SecurityConfiguration {
                             .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                             .requestMatchers(HttpMethod.POST, "/cities").hasAnyRole(ADMIN, MANAGER)
                             .requestMatchers(HttpMethod.DELETE, "/cities/**").hasAnyRole(ADMIN, MANAGER)
+                            .requestMatchers(HttpMethod.POST, "/attractions/semantic-search").permitAll()
                             .requestMatchers(HttpMethod.POST, "/attractions/**").hasAnyRole(ADMIN, MANAGER)
                             .requestMatchers(HttpMethod.DELETE, "/attractions/**").hasAnyRole(ADMIN, MANAGER)
                             // configure access to connection endpoints
@@ -55,6 +56,7 @@ public class SecurityConfiguration {
                             // configure access to public endpoints
                             .requestMatchers(HttpMethod.GET, "/cities/**").permitAll()
                             .requestMatchers(HttpMethod.GET, "/attractions/**").permitAll()
+                            .requestMatchers(HttpMethod.GET, "/changes").permitAll()
                             .anyRequest()
                             .authenticated()
                 )
@@ -1,22 +1,37 @@
 package de.tum.attractionservice.service;
 
+import de.tum.attractionservice.cache.CatalogResponseCache;
+import de.tum.attractionservice.embedding.EmbeddingIndex;
 import de.tum.attractionservice.importer.AttractionDTO;
+import de.tum.attractionservice.importer.ContentHasher;
+import de.tum.attractionservice.importer.ExistingAttraction;
+import de.tum.attractionservice.importer.ImportMode;
+import de.tum.attractionservice.importer.ImportResult;
+import de.tum.attractionservice.importer.NearDuplicate;
+import de.tum.attractionservice.importer.OpeningHoursParser;
+import de.tum.attractionservice.index.CatalogReadModel;
+import de.tum.attractionservice.metrics.TimedOperation;
+import de.tum.attractionservice.model.ChangeEventEntity;
 import de.tum.attractionservice.model.CityEntity;
 import de.tum.attractionservice.model.Location;
 import de.tum.attractionservice.model.OpeningHours;
+import de.tum.attractionservice.model.PhotoEntity;
 import de.tum.attractionservice.repository.CityRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import de.tum.attractionservice.model.AttractionEntity;
 import de.tum.attractionservice.repository.AttractionRepository;
 
-import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Counter;
@@ -24,10 +39,23 @@ import io.micrometer.core.instrument.Timer;
 
 
 @Service
+@TimedOperation
 public class AttractionService {
 
+    private static final int NAME_LOOKUP_CHUNK = 1000;
+    private static final int MAX_REPORTED_NEAR_DUPLICATES = 100;
+
     private final AttractionRepository attractionRepository;
     private final CityRepository cityRepository;
+    private final CatalogResponseCache responseCache;
+    private final ChangeFeedService changeFeedService;
+    private final CatalogReadModel readModel;
+    private final CityResolver cityResolver;
+    private final PhotoStore photoStore;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final SimilarAttractionService similarAttractionService;
+    private final EmbeddingIndex embeddingIndex;
+    private final ViewCounterService viewCounter;
 
     private final Counter totalLookUpsCounter;
     private final Counter singleLookUpCounter;
@@ -36,14 +64,36 @@ public class AttractionService {
     private final Counter totalDeletesCounter;
     private final Counter importedAttractionsCounter;
     private final Counter urlParseErrorsCounter;
+    private final Counter updatedAttractionsCounter;
+    private final Counter unchangedAttractionsCounter;
 
     private final Timer lookupTimer;
     private final Timer importTimer;
 
     @Autowired
-    public AttractionService(AttractionRepository attractionRepository, CityRepository cityRepository, MeterRegistry registry) {
+    public AttractionService(AttractionRepository attractionRepository,
+                             CityRepository cityRepository,
+                             CatalogResponseCache responseCache,
+                             ChangeFeedService changeFeedService,
+                             CatalogReadModel readModel,
+                             CityResolver cityResolver,
+                             PhotoStore photoStore,
+                             NearDuplicateDetector nearDuplicateDetector,
+                             SimilarAttractionService similarAttractionService,
+                             EmbeddingIndex embeddingIndex,
+                             ViewCounterService viewCounter,
+                             MeterRegistry registry) {
         this.attractionRepository = attractionRepository;
         this.cityRepository = cityRepository;
+        this.responseCache = responseCache;
+        this.changeFeedService = changeFeedService;
+        this.readModel = readModel;
+        this.cityResolver = cityResolver;
+        this.photoStore = photoStore;
+        this.nearDuplicateDetector = nearDuplicateDetector;
+        this.similarAttractionService = similarAttractionService;
+        this.embeddingIndex = embeddingIndex;
+        this.viewCounter = viewCounter;
 
         this.totalLookUpsCounter = Counter
                 .builder("attraction_service_get_all_total")
@@ -83,10 +133,18 @@ public class AttractionService {
                 .builder("attraction_service_url_parse_errors_total")
                 .description("Invalid photo URL count during import")
                 .register(registry);
+        this.updatedAttractionsCounter = Counter
+                .builder("attraction_service_updated_attractions_total")
+                .description("Number of existing attractions rewritten by upsert imports")
+                .register(registry);
+        this.unchangedAttractionsCounter = Counter
+                .builder("attraction_service_unchanged_attractions_total")
+                .description("Number of imported records skipped because their content hash matched")
+                .register(registry);
     }
 
     public AttractionEntity getAttractionByName(String name) {
-        return attractionRepository.findByName(name).orElse(null);
+        return lookupTimer.record(() -> attractionRepository.findByName(name).orElse(null));
     }
 
     public Page<AttractionEntity> getAllAttractions(Pageable pageable) {
@@ -103,88 +161,161 @@ public class AttractionService {
         return attractionRepository.findById(id).orElse(null);
     }
 
+    @Transactional
     public void saveAttraction(AttractionEntity attraction) {
         singleSaveCounter.increment();
-        attractionRepository.save(attraction);
+        attraction.setPhotos(photoStore.resolveEntities(attraction.getPhotos()));
+        AttractionEntity saved = attractionRepository.save(attraction);
+        changeFeedService.record(ChangeEventEntity.EntityType.ATTRACTION, saved.getId(), ChangeEventEntity.Operation.UPSERT);
+        readModel.upsertAfterCommit(saved);
+        nearDuplicateDetector.indexAfterCommit(saved);
+        similarAttractionService.indexAfterCommit(saved);
+        responseCache.invalidateAll();
     }
 
+    @Transactional
     public void deleteById(Long id) {
         totalDeletesCounter.increment();
         attractionRepository.deleteById(id);
+        changeFeedService.record(ChangeEventEntity.EntityType.ATTRACTION, id, ChangeEventEntity.Operation.DELETE);
+        readModel.removeAfterCommit(id);
+        nearDuplicateDetector.removeAfterCommit(id);
+        similarAttractionService.removeAfterCommit(id);
+        embeddingIndex.removeAfterCommit(id);
+        viewCounter.forget(id);
+        responseCache.invalidateAll();
+    }
+
+    @Transactional
+    public ImportResult saveAll(List<AttractionDTO> dtos) {
+        return saveAll(dtos, ImportMode.INSERT);
     }
 
-    public void saveAll(List<AttractionDTO> dtos) {
+    /**
+     * Bulk import. Existing names are fetched with their content hashes in chunks instead of one
+     * lookup per record; in {@link ImportMode#UPSERT} mode only records whose hash differs are rewritten.
+     * New names are screened for near-duplicates of the catalog and of earlier records in the batch.
+     */
+    @Transactional
+    public ImportResult saveAll(List<AttractionDTO> dtos, ImportMode mode) {
         totalSavesCounter.increment();
 
-        importTimer.record(() -> {
+        ImportResult result = importTimer.record(() -> {
+            Map<String, ExistingAttraction> existing = findExisting(dtos);
+            NearDuplicateDetector.Batch screening = nearDuplicateDetector.newBatch();
+            List<NearDuplicate> nearDuplicates = new ArrayList<>();
+            int nearDuplicateCount = 0;
+            Set<String> seen = new HashSet<>();
+            int inserted = 0;
+            int updated = 0;
+            int unchanged = 0;
+            int skipped = 0;
+
             for (AttractionDTO dto : dtos) {
-                if (attractionRepository.findByName(dto.getName()).isEmpty()) {
+                if (!seen.add(dto.getName())) {
+                    skipped++;
+                    continue;
+                }
+                String hash = ContentHasher.hash(dto);
+                ExistingAttraction current = existing.get(dto.getName());
+                AttractionEntity saved;
+                if (current == null) {
+                    NearDuplicateDetector.Batch.Screening screened = screening.screen(dto);
+                    if (screened.match() != null) {
+                        if (nearDuplicates.size() < MAX_REPORTED_NEAR_DUPLICATES) {
+                            nearDuplicates.add(screened.match());
+                        }
+                        nearDuplicateCount++;
+                        if (screened.match().skipped()) {
+                            skipped++;
+                            continue;
+                        }
+                    }
                     importedAttractionsCounter.increment();
-                    attractionRepository.save(toEntity(dto));
+                    saved = attractionRepository.save(toEntity(dto, hash));
+                    screening.accept(screened);
+                    inserted++;
+                } else if (hash.equals(current.contentHash())) {
+                    unchanged++;
+                    continue;
+                } else if (mode == ImportMode.UPSERT) {
+                    AttractionEntity entity = attractionRepository.findById(current.id()).orElseThrow();
+                    applyDto(entity, dto, hash);
+                    saved = attractionRepository.save(entity);
+                    updatedAttractionsCounter.increment();
+                    updated++;
+                } else {
+                    skipped++;
+                    continue;
                 }
+                changeFeedService.record(ChangeEventEntity.EntityType.ATTRACTION, saved.getId(), ChangeEventEntity.Operation.UPSERT);
+                readModel.upsertAfterCommit(saved);
+                nearDuplicateDetector.indexAfterCommit(saved);
+                similarAttractionService.indexAfterCommit(saved);
             }
+            unchangedAttractionsCounter.increment(unchanged);
+            return new ImportResult(mode, dtos.size(), inserted, updated, unchanged, skipped,
+                    nearDuplicateCount, nearDuplicates);
         });
+        if (result.inserted() + result.updated() > 0) {
+            responseCache.invalidateAll();
+        }
+        return result;
+    }
 
-//        Set<String> existing = attractionRepository.findAll()
-//                .stream()
-//                .map(AttractionEntity::getName)
-//                .collect(Collectors.toSet());
-//
-//        dtos.stream()
-//                .filter(dto -> !existing.contains(dto.getName()))
-//                .map(this::toEntity)
-//                .forEach(attractionRepository::save);
+    private Map<String, ExistingAttraction> findExisting(List<AttractionDTO> dtos) {
+        List<String> names = dtos.stream().map(AttractionDTO::getName).distinct().toList();
+        Map<String, ExistingAttraction> existing = new HashMap<>();
+        for (int from = 0; from < names.size(); from += NAME_LOOKUP_CHUNK) {
+            List<String> chunk = names.subList(from, Math.min(names.size(), from + NAME_LOOKUP_CHUNK));
+            for (ExistingAttraction row : attractionRepository.findExistingByNames(chunk)) {
+                existing.put(row.name(), row);
+            }
+        }
+        return existing;
     }
 
-    private AttractionEntity toEntity(AttractionDTO dto) {
-        // 1) City: find or create
-        CityEntity city = cityRepository.findByName(dto.getCity())
-                .orElseGet(() -> {
-                    CityEntity c = new CityEntity();
-                    c.setName(dto.getCity());
-                    c.setCountry(dto.getCountry());
-                    return cityRepository.save(c);
-                });
-
-        // 2) Location
-        Location loc = new Location();
+    private AttractionEntity toEntity(AttractionDTO dto, String contentHash) {
+        AttractionEntity ent = new AttractionEntity();
+        ent.setLocation(new Location());
+        ent.setOpeningHours(new ArrayList<>());
+        applyDto(ent, dto, contentHash);
+        return ent;
+    }
+
+    private void applyDto(AttractionEntity ent, AttractionDTO dto, String contentHash) {
+        // 1) City: resolved through the interning resolver, safe against concurrent imports
+        CityEntity city = cityResolver.resolve(dto.getCity(), dto.getCountry());
+
+        // 2) Location (updated in place so the row keeps its id)
+        Location loc = ent.getLocation();
         loc.setAddress(dto.getAddress());
         loc.setCountry(dto.getCountry());
         loc.setLatitude(dto.getLatitude());
         loc.setLongitude(dto.getLongitude());
 
         // 3) OpeningHours (parse “Day: HH:mm - HH:mm”)
-        List<OpeningHours> hours = dto.getOpeningHours().stream().map(s -> {
-            String[] parts = s.split(": ", 2);
-            String day = parts[0];
-            String[] times = parts[1].split(" - ");
-            OpeningHours oh = new OpeningHours();
-            oh.setDay(day);
-            oh.setFromTime(times[0]);
-            oh.setToTime(times[1]);
-            return oh;
-        }).collect(Collectors.toList());
-
-        // 4) Photos → URL objects
-        List<URL> photoUrls = dto.getPhotos().stream()
-                .map(u -> {
-                    try { return new URL(u); }
-                    catch (Exception e) {
-                        urlParseErrorsCounter.increment();
-                        throw new RuntimeException("Invalid URL", e);
-                    }
-                })
-                .collect(Collectors.toList());
+        List<OpeningHours> hours = OpeningHoursParser.parse(dto.getOpeningHours());
+
+        // 4) Photos → shared, content-addressed photo rows
+        List<PhotoEntity> photos;
+        try {
+            photos = photoStore.resolveUrls(dto.getPhotos());
+        } catch (IllegalArgumentException e) {
+            urlParseErrorsCounter.increment();
+            throw new RuntimeException("Invalid URL", e);
+        }
 
         // 5) Assemble AttractionEntity
-        AttractionEntity ent = new AttractionEntity();
         ent.setName(dto.getName());
         ent.setDescription(dto.getDescription());
         ent.setCity(city);
         ent.setLocation(loc);
-        ent.setOpeningHours(hours);
-        ent.setPhotos(photoUrls);
+        // replace the element collection's contents rather than the collection itself
+        ent.getOpeningHours().clear();
+        ent.getOpeningHours().addAll(hours);
+        ent.setPhotos(photos);
         ent.setWebsite(dto.getWebsite());
-        return ent;
+        ent.setContentHash(contentHash);
     }
-}
\ No newline at end of file
+}
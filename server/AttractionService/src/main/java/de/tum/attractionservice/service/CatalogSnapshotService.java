@@ -0,0 +1,85 @@
+package de.tum.attractionservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.tum.attractionservice.export.AttractionSnapshotRow;
+import de.tum.attractionservice.repository.AttractionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class CatalogSnapshotService {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final AttractionRepository attractionRepository;
+    private final ObjectWriter rowWriter;
+
+    private final Counter snapshotCounter;
+    private final Counter snapshotRowsCounter;
+    private final Timer snapshotTimer;
+
+    @Autowired
+    public CatalogSnapshotService(AttractionRepository attractionRepository, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.attractionRepository = attractionRepository;
+        // lines are terminated explicitly, and one flush at the end is enough
+        this.rowWriter = objectMapper
+                .writerFor(AttractionSnapshotRow.class)
+                .withRootValueSeparator((String) null)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        this.snapshotCounter = Counter
+                .builder("attraction_service_snapshot_total")
+                .description("Total number of catalog snapshot exports")
+                .register(registry);
+        this.snapshotRowsCounter = Counter
+                .builder("attraction_service_snapshot_rows_total")
+                .description("Attractions written to catalog snapshots")
+                .register(registry);
+        this.snapshotTimer = Timer
+                .builder("attraction_service_snapshot_duration_seconds")
+                .description("Time to stream a full catalog snapshot")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Streams every attraction, joined with city and location, as gzipped NDJSON (one object per line).
+     * Rows are read from a cursor and written one at a time, so memory use does not grow with the catalog.
+     *
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long writeSnapshot(OutputStream out) throws IOException {
+        snapshotCounter.increment();
+        Timer.Sample sample = Timer.start();
+        long written = 0;
+        try (Stream<AttractionSnapshotRow> rows = attractionRepository.streamSnapshot();
+             GZIPOutputStream gzip = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+             JsonGenerator generator = rowWriter.createGenerator(gzip)) {
+            Iterator<AttractionSnapshotRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                rowWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                written++;
+            }
+            generator.flush();
+        } finally {
+            snapshotRowsCounter.increment(written);
+            sample.stop(snapshotTimer);
+        }
+        return written;
+    }
+}
@@ -0,0 +1,96 @@
+package de.tum.attractionservice.service;
+
+import de.tum.attractionservice.export.ChangeFeedPage;
+import de.tum.attractionservice.model.ChangeEventEntity;
+import de.tum.attractionservice.model.ChangeSequenceEntity;
+import de.tum.attractionservice.repository.ChangeEventRepository;
+import de.tum.attractionservice.repository.ChangeSequenceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+public class ChangeFeedService implements SmartInitializingSingleton {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final ChangeEventRepository changeEventRepository;
+    private final ChangeSequenceRepository changeSequenceRepository;
+
+    private final Counter recordedChangesCounter;
+    private final Counter feedReadsCounter;
+
+    @Autowired
+    public ChangeFeedService(ChangeEventRepository changeEventRepository,
+                             ChangeSequenceRepository changeSequenceRepository,
+                             MeterRegistry registry) {
+        this.changeEventRepository = changeEventRepository;
+        this.changeSequenceRepository = changeSequenceRepository;
+
+        this.recordedChangesCounter = Counter
+                .builder("attraction_service_changes_recorded_total")
+                .description("Catalog changes appended to the change feed")
+                .register(registry);
+        this.feedReadsCounter = Counter
+                .builder("attraction_service_change_feed_reads_total")
+                .description("Total number of change feed page reads")
+                .register(registry);
+    }
+
+    // Runs before the web server accepts requests, so writers can always lock an existing row.
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!changeSequenceRepository.existsById(ChangeSequenceEntity.SINGLETON_ID)) {
+            ChangeSequenceEntity sequence = new ChangeSequenceEntity();
+            sequence.setId(ChangeSequenceEntity.SINGLETON_ID);
+            sequence.setValue(0L);
+            try {
+                changeSequenceRepository.save(sequence);
+            } catch (DataIntegrityViolationException e) {
+                // another replica created it first
+            }
+        }
+    }
+
+    /**
+     * Appends a change inside the caller's transaction. The sequence row stays locked until that
+     * transaction commits, so no later sequence number can become visible before this one.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ChangeEventEntity.EntityType entityType, Long entityId, ChangeEventEntity.Operation operation) {
+        ChangeSequenceEntity sequence = changeSequenceRepository.lockById(ChangeSequenceEntity.SINGLETON_ID)
+                .orElseThrow(() -> new IllegalStateException("Change sequence row is missing"));
+        sequence.setValue(sequence.getValue() + 1);
+
+        ChangeEventEntity event = new ChangeEventEntity();
+        event.setSeq(sequence.getValue());
+        event.setEntityType(entityType);
+        event.setEntityId(entityId);
+        event.setOperation(operation);
+        event.setChangedAt(Instant.now());
+        changeEventRepository.save(event);
+        recordedChangesCounter.increment();
+    }
+
+    @Transactional(readOnly = true)
+    public ChangeFeedPage getChanges(long since, int limit) {
+        feedReadsCounter.increment();
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // fetch one extra row to learn whether another page follows
+        List<ChangeEventEntity> rows = changeEventRepository
+                .findBySeqGreaterThanOrderBySeqAsc(since, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<ChangeEventEntity> changes = hasMore ? rows.subList(0, pageSize) : rows;
+        long nextCursor = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+        return new ChangeFeedPage(List.copyOf(changes), nextCursor, hasMore);
+    }
+}
@@ -0,0 +1,89 @@
+package de.tum.attractionservice.service;
+
+import de.tum.attractionservice.export.AttractionSummary;
+import de.tum.attractionservice.export.CityOverview;
+import de.tum.attractionservice.export.CityView;
+import de.tum.attractionservice.export.CoverPhotoRow;
+import de.tum.attractionservice.index.CatalogReadModel;
+import de.tum.attractionservice.index.CityCatalog;
+import de.tum.attractionservice.index.WeeklySchedule;
+import de.tum.attractionservice.model.PhotoUrl;
+import de.tum.attractionservice.repository.AttractionRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Builds the city page bundle. City and aggregates come from memory; the top attractions, most viewed
+ * first, take two queries whatever the limit: one for the summaries and one for their cover photos.
+ */
+@Service
+public class CityOverviewService {
+
+    public static final int MAX_ATTRACTIONS = 50;
+    private static final int DESCRIPTION_LENGTH = 280;
+
+    private final CityCatalog cityCatalog;
+    private final CatalogReadModel readModel;
+    private final AttractionRepository attractionRepository;
+
+    public CityOverviewService(CityCatalog cityCatalog,
+                               CatalogReadModel readModel,
+                               AttractionRepository attractionRepository) {
+        this.cityCatalog = cityCatalog;
+        this.readModel = readModel;
+        this.attractionRepository = attractionRepository;
+    }
+
+    public Optional<CityView> findCity(long cityId) {
+        return Optional.ofNullable(cityCatalog.get(cityId));
+    }
+
+    @Transactional(readOnly = true)
+    public CityOverview getOverview(CityView city, int limit, Instant now) {
+        List<AttractionSummary> summaries = attractionRepository.findSummariesByCityId(
+                city.id(), PageRequest.of(0, Math.max(1, Math.min(limit, MAX_ATTRACTIONS))));
+
+        Map<Long, PhotoUrl> covers = new HashMap<>();
+        if (!summaries.isEmpty()) {
+            List<Long> ids = summaries.stream().map(AttractionSummary::id).toList();
+            for (CoverPhotoRow row : attractionRepository.findCoverPhotos(ids)) {
+                covers.put(row.attractionId(), row.url());
+            }
+        }
+
+        List<AttractionSummary> attractions = new ArrayList<>(summaries.size());
+        for (AttractionSummary summary : summaries) {
+            attractions.add(shorten(summary).withCoverPhoto(covers.get(summary.id())));
+        }
+        return new CityOverview(city, readModel.cityStats(city.id(), now), attractions);
+    }
+
+    /**
+     * End of the half-hour slot containing {@code now}. The open-now figures of an overview are valid
+     * until then; estimated city offsets are whole hours, so slots start at the same instants everywhere.
+     */
+    public static Instant validUntil(Instant now) {
+        long slotSeconds = Duration.ofMinutes(WeeklySchedule.SLOT_MINUTES).toSeconds();
+        return Instant.ofEpochSecond((now.getEpochSecond() / slotSeconds + 1) * slotSeconds);
+    }
+
+    private static AttractionSummary shorten(AttractionSummary summary) {
+        String description = summary.description();
+        if (description == null || description.length() <= DESCRIPTION_LENGTH) {
+            return summary;
+        }
+        int cut = description.lastIndexOf(' ', DESCRIPTION_LENGTH);
+        String shortened = description.substring(0, cut > 0 ? cut : DESCRIPTION_LENGTH).stripTrailing() + "…";
+        return new AttractionSummary(summary.id(), summary.name(), shortened, summary.website(),
+                summary.address(), summary.latitude(), summary.longitude(), summary.coverPhoto());
+    }
+}
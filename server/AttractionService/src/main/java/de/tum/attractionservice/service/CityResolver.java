@@ -0,0 +1,172 @@
+package de.tum.attractionservice.service;
+
+import de.tum.attractionservice.cache.CityCache;
+import de.tum.attractionservice.index.CityCatalog;
+import de.tum.attractionservice.model.ChangeEventEntity;
+import de.tum.attractionservice.model.CityEntity;
+import de.tum.attractionservice.repository.DatabaseDialect;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Get-or-create for cities during imports. Resolved ids are interned in memory, so repeated
+ * lookups of a city never reach the database. Creation goes through an insert that cannot
+ * violate the unique name constraint ({@code ON CONFLICT DO NOTHING} on Postgres). An id enters the
+ * shared map only after the transaction that resolved it commits, so no import ever references a city
+ * row it cannot see.
+ */
+@Service
+public class CityResolver {
+
+    private static final String POSTGRES_UPSERT =
+            "INSERT INTO cities (name, country) VALUES (?, ?) ON CONFLICT (name) DO NOTHING RETURNING id";
+    private static final String PORTABLE_INSERT =
+            "INSERT INTO cities (name, country) SELECT ?, ? WHERE NOT EXISTS (SELECT 1 FROM cities WHERE name = ?)";
+    private static final String SELECT_ID = "SELECT id FROM cities WHERE name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeFeedService changeFeedService;
+    private final CityCache cityCache;
+    private final CityCatalog cityCatalog;
+    private final ConcurrentHashMap<String, Long> idsByName = new ConcurrentHashMap<>();
+    private final DatabaseDialect dialect;
+
+    private final Counter cacheHitCounter;
+    private final Counter createdCounter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CityResolver(JdbcTemplate jdbcTemplate,
+                        DatabaseDialect dialect,
+                        ChangeFeedService changeFeedService,
+                        CityCache cityCache,
+                        CityCatalog cityCatalog,
+                        MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+        this.changeFeedService = changeFeedService;
+        this.cityCache = cityCache;
+        this.cityCatalog = cityCatalog;
+
+        this.cacheHitCounter = Counter
+                .builder("attraction_service_city_resolver_cache_hits_total")
+                .description("City lookups answered from the in-memory name map")
+                .register(registry);
+        this.createdCounter = Counter
+                .builder("attraction_service_city_resolver_created_total")
+                .description("Cities created by imports")
+                .register(registry);
+        Gauge.builder("attraction_service_city_resolver_cached_cities", idsByName, ConcurrentHashMap::size)
+                .description("City names held by the resolver cache")
+                .register(registry);
+    }
+
+    /**
+     * Returns a reference to the city called {@code name}, creating it with {@code country} if needed.
+     * The returned entity is an uninitialized reference, so using it as a foreign key costs no query.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public CityEntity resolve(String name, String country) {
+        Long id = idsByName.get(name);
+        if (id != null) {
+            cacheHitCounter.increment();
+            return entityManager.getReference(CityEntity.class, id);
+        }
+
+        Map<String, Long> resolvedHere = resolvedInTransaction();
+        id = resolvedHere.get(name);
+        if (id == null) {
+            // other transactions cannot see an uncommitted city row, so its id is published after commit;
+            // until then they insert too and wait on the unique index for this transaction to finish
+            id = insertIfAbsent(name, country);
+            resolvedHere.put(name, id);
+        }
+        return entityManager.getReference(CityEntity.class, id);
+    }
+
+    /** Forgets a deleted city once its deletion commits. */
+    public void evict(Long cityId) {
+        afterCompletion(committed -> {
+            if (committed) {
+                idsByName.values().removeIf(cityId::equals);
+            }
+        });
+    }
+
+    private Long insertIfAbsent(String name, String country) {
+        Long created;
+        if (dialect.isPostgres()) {
+            // blocks on a concurrent uncommitted insert of the same name, then returns no row
+            List<Long> ids = jdbcTemplate.query(POSTGRES_UPSERT, (rs, i) -> rs.getLong(1), name, country);
+            created = ids.isEmpty() ? null : ids.get(0);
+        } else {
+            int inserted = jdbcTemplate.update(PORTABLE_INSERT, name, country, name);
+            created = inserted == 0 ? null : jdbcTemplate.queryForObject(SELECT_ID, Long.class, name);
+        }
+        if (created == null) {
+            return jdbcTemplate.queryForObject(SELECT_ID, Long.class, name);
+        }
+
+        createdCounter.increment();
+        changeFeedService.record(ChangeEventEntity.EntityType.CITY, created, ChangeEventEntity.Operation.UPSERT);
+        // the JDBC insert bypasses Hibernate, so cached "not found" lookups of this name must go
+        cityCache.evictQueriesAfterCommit();
+        cityCatalog.refreshAfterCommit();
+        return created;
+    }
+
+    // ids resolved by the current transaction, copied into idsByName once it commits
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> resolvedInTransaction() {
+        Map<String, Long> resolved = (Map<String, Long>) TransactionSynchronizationManager.getResource(this);
+        if (resolved == null) {
+            Map<String, Long> created = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    idsByName.putAll(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CityResolver.this);
+                }
+            });
+            resolved = created;
+        }
+        return resolved;
+    }
+
+    private interface CompletionAction {
+        void run(boolean committed);
+    }
+
+    private static void afterCompletion(CompletionAction action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            action.run(true);
+        }
+    }
+}
@@ -1,38 +1,75 @@
 package de.tum.attractionservice.service;
 
+import de.tum.attractionservice.cache.CatalogResponseCache;
+import de.tum.attractionservice.cache.CityCache;
+import de.tum.attractionservice.export.CityPage;
+import de.tum.attractionservice.index.CityCatalog;
+import de.tum.attractionservice.metrics.TimedOperation;
+import de.tum.attractionservice.model.ChangeEventEntity;
 import de.tum.attractionservice.model.CityEntity;
 import de.tum.attractionservice.repository.CityRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.Optional;
 
 @Service
+@TimedOperation
 public class CityService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final CityRepository cityRepository;
+    private final CatalogResponseCache responseCache;
+    private final ChangeFeedService changeFeedService;
+    private final CityResolver cityResolver;
+    private final CityCache cityCache;
+    private final CityCatalog cityCatalog;
 
     @Autowired
-    public CityService(CityRepository cityRepository) {
+    public CityService(CityRepository cityRepository,
+                       CatalogResponseCache responseCache,
+                       ChangeFeedService changeFeedService,
+                       CityResolver cityResolver,
+                       CityCache cityCache,
+                       CityCatalog cityCatalog) {
         this.cityRepository = cityRepository;
+        this.responseCache = responseCache;
+        this.changeFeedService = changeFeedService;
+        this.cityResolver = cityResolver;
+        this.cityCache = cityCache;
+        this.cityCatalog = cityCatalog;
     }
 
+    @Transactional
     public CityEntity createCity(CityEntity city) {
         // may add unique checks
-        return cityRepository.save(city);
+        CityEntity saved = cityRepository.save(city);
+        changeFeedService.record(ChangeEventEntity.EntityType.CITY, saved.getId(), ChangeEventEntity.Operation.UPSERT);
+        cityCache.evictAfterCommit(saved.getId());
+        cityCatalog.refreshAfterCommit();
+        responseCache.invalidateAll();
+        return saved;
     }
 
-    public List<CityEntity> getAllCities() {
-        return cityRepository.findAll();
+    /** Served from the in-memory catalog snapshot; never reaches the database. */
+    public CityPage getCities(String country, long after, int size) {
+        return cityCatalog.page(country, after, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
     }
 
     public Optional<CityEntity> getCityById(Long id) {
         return cityRepository.findById(id);
     }
 
+    @Transactional
     public void deleteCity(Long id) {
         cityRepository.deleteById(id);
+        changeFeedService.record(ChangeEventEntity.EntityType.CITY, id, ChangeEventEntity.Operation.DELETE);
+        cityResolver.evict(id);
+        cityCache.evictAfterCommit(id);
+        cityCatalog.refreshAfterCommit();
+        responseCache.invalidateAll();
     }
 
     public boolean existsById(Long id) {
@@ -0,0 +1,126 @@
+package de.tum.attractionservice.service;
+
+import de.tum.attractionservice.cache.CatalogResponseCache;
+import de.tum.attractionservice.cache.CityCache;
+import de.tum.attractionservice.export.CityStats;
+import de.tum.attractionservice.export.CityView;
+import de.tum.attractionservice.index.CatalogReadModel;
+import de.tum.attractionservice.index.CityCatalog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Per-city statistics (attraction count, centroid, bounding box, open-now share) answered from the
+ * running aggregates of {@link CatalogReadModel}. Centroids are written back to
+ * {@code cities.latitude/longitude} in the background, rounded to six decimals (about 10 cm) so that
+ * floating-point noise in the running sums does not rewrite rows.
+ */
+@Service
+public class CityStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(CityStatisticsService.class);
+
+    private static final String UPDATE_CENTROID = "UPDATE cities SET latitude = ?, longitude = ? WHERE id = ?";
+
+    private final CatalogReadModel readModel;
+    private final CityCatalog cityCatalog;
+    private final CityCache cityCache;
+    private final CatalogResponseCache responseCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter centroidWritesCounter;
+
+    public CityStatisticsService(CatalogReadModel readModel,
+                                 CityCatalog cityCatalog,
+                                 CityCache cityCache,
+                                 CatalogResponseCache responseCache,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry registry) {
+        this.readModel = readModel;
+        this.cityCatalog = cityCatalog;
+        this.cityCache = cityCache;
+        this.responseCache = responseCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.centroidWritesCounter = Counter
+                .builder("attraction_service_city_centroid_writes_total")
+                .description("City centroids written back to the cities table")
+                .register(registry);
+    }
+
+    /** Empty if the city does not exist. */
+    public Optional<CityStats> getStats(long cityId) {
+        if (cityCatalog.get(cityId) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(readModel.cityStats(cityId, Instant.now()));
+    }
+
+    /**
+     * Writes the centroids of cities whose aggregates changed since the last run. Cities without
+     * located attractions keep their stored coordinates.
+     */
+    @Scheduled(fixedDelayString = "${application.city-stats.flush-interval-ms:60000}")
+    public int persistCentroids() {
+        List<Long> changed = readModel.drainChangedCities();
+        if (changed.isEmpty()) {
+            return 0;
+        }
+
+        Instant now = Instant.now();
+        List<Object[]> updates = new ArrayList<>();
+        for (Long cityId : changed) {
+            CityView city = cityCatalog.get(cityId);
+            CityStats stats = readModel.cityStats(cityId, now);
+            if (city == null || stats.centroidLatitude() == null) {
+                continue;
+            }
+            double latitude = round(stats.centroidLatitude());
+            double longitude = round(stats.centroidLongitude());
+            if (city.latitude() != null && city.longitude() != null
+                    && round(city.latitude()) == latitude && round(city.longitude()) == longitude) {
+                continue;
+            }
+            updates.add(new Object[]{latitude, longitude, cityId});
+        }
+        if (updates.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(UPDATE_CENTROID, updates);
+                for (Object[] update : updates) {
+                    cityCache.evictAfterCommit((Long) update[2]);
+                }
+                cityCatalog.refreshAfterCommit();
+                responseCache.invalidateAll();
+            });
+        } catch (RuntimeException e) {
+            log.warn("Writing {} city centroids failed, retrying on the next run", updates.size(), e);
+            readModel.markCitiesChanged(changed);
+            return 0;
+        }
+        centroidWritesCounter.increment(updates.size());
+        return updates.size();
+    }
+
+    private static double round(double coordinate) {
+        return Math.round(coordinate * 1e6) / 1e6;
+    }
+}
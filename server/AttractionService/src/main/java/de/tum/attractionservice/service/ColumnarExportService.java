@@ -0,0 +1,271 @@
+package de.tum.attractionservice.service;
+
+import de.tum.attractionservice.export.AttractionSnapshotRow;
+import de.tum.attractionservice.export.ColumnarExportResult;
+import de.tum.attractionservice.index.GeoMath;
+import de.tum.attractionservice.model.CityEntity;
+import de.tum.attractionservice.repository.AttractionRepository;
+import de.tum.attractionservice.repository.CityRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes the attraction catalog as an Arrow IPC file so analytical scans can run off a file
+ * instead of the OLTP database. City and country are dictionary-encoded, coordinates are stored
+ * as doubles, and {@code batch-size} rows go into each record batch (the Arrow row group).
+ */
+@Service
+public class ColumnarExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarExportService.class);
+    private static final String FILE_PREFIX = "attractions-";
+    private static final String FILE_SUFFIX = ".arrow";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final long CITY_DICTIONARY_ID = 1L;
+    private static final long COUNTRY_DICTIONARY_ID = 2L;
+
+    private final AttractionRepository attractionRepository;
+    private final CityRepository cityRepository;
+
+    private final Counter exportCounter;
+    private final Counter exportedRowsCounter;
+    private final Timer exportTimer;
+
+    @Value("${application.export.columnar.directory:exports}")
+    private String directory;
+
+    @Value("${application.export.columnar.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${application.export.columnar.retain:7}")
+    private int retain;
+
+    @Autowired
+    public ColumnarExportService(AttractionRepository attractionRepository, CityRepository cityRepository, MeterRegistry registry) {
+        this.attractionRepository = attractionRepository;
+        this.cityRepository = cityRepository;
+
+        this.exportCounter = Counter
+                .builder("attraction_service_columnar_export_total")
+                .description("Total number of columnar catalog exports")
+                .register(registry);
+        this.exportedRowsCounter = Counter
+                .builder("attraction_service_columnar_export_rows_total")
+                .description("Attractions written to columnar exports")
+                .register(registry);
+        this.exportTimer = Timer
+                .builder("attraction_service_columnar_export_duration_seconds")
+                .description("Time to write a columnar catalog export")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Scheduled(cron = "${application.export.columnar.cron:-}")
+    @Transactional(readOnly = true)
+    public void scheduledExport() throws IOException {
+        ColumnarExportResult result = exportCatalog();
+        log.info("Columnar export wrote {} attractions to {}", result.rows(), result.file());
+    }
+
+    @Transactional(readOnly = true)
+    public ColumnarExportResult exportCatalog() throws IOException {
+        exportCounter.increment();
+        Timer.Sample sample = Timer.start();
+        try {
+            Path dir = Path.of(directory);
+            Files.createDirectories(dir);
+            Path target = dir.resolve(FILE_PREFIX + LocalDateTime.now().format(FILE_TIMESTAMP) + FILE_SUFFIX);
+            Path tmp = dir.resolve(target.getFileName() + ".tmp");
+
+            ColumnarExportResult result;
+            try (BufferAllocator allocator = new RootAllocator()) {
+                result = write(tmp, target, allocator);
+            }
+            // readers only ever see complete files
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            exportedRowsCounter.increment(result.rows());
+            pruneOldExports(dir);
+            return result;
+        } finally {
+            sample.stop(exportTimer);
+        }
+    }
+
+    private ColumnarExportResult write(Path tmp, Path target, BufferAllocator allocator) throws IOException {
+        // Arrow files carry each dictionary once, ahead of the batches, so build both from the city table first
+        Map<Long, Integer> cityIndexById = new HashMap<>();
+        Map<Long, Integer> countryIndexByCityId = new HashMap<>();
+        Map<String, Integer> countryIndex = new LinkedHashMap<>();
+        List<CityEntity> cities = cityRepository.findAll();
+
+        try (VarCharVector cityValues = new VarCharVector("city", allocator);
+             VarCharVector countryValues = new VarCharVector("country", allocator)) {
+            cityValues.allocateNew(cities.size());
+            for (CityEntity city : cities) {
+                int index = cityIndexById.size();
+                cityIndexById.put(city.getId(), index);
+                cityValues.setSafe(index, city.getName().getBytes(StandardCharsets.UTF_8));
+                Integer country = countryIndex.computeIfAbsent(city.getCountry(), c -> countryIndex.size());
+                countryIndexByCityId.put(city.getId(), country);
+            }
+            cityValues.setValueCount(cityIndexById.size());
+
+            countryValues.allocateNew(countryIndex.size());
+            countryIndex.forEach((name, index) -> countryValues.setSafe(index, name.getBytes(StandardCharsets.UTF_8)));
+            countryValues.setValueCount(countryIndex.size());
+
+            Dictionary cityDictionary = new Dictionary(cityValues,
+                    new DictionaryEncoding(CITY_DICTIONARY_ID, false, new ArrowType.Int(32, true)));
+            Dictionary countryDictionary = new Dictionary(countryValues,
+                    new DictionaryEncoding(COUNTRY_DICTIONARY_ID, false, new ArrowType.Int(32, true)));
+            DictionaryProvider.MapDictionaryProvider dictionaries =
+                    new DictionaryProvider.MapDictionaryProvider(cityDictionary, countryDictionary);
+
+            Schema schema = new Schema(List.of(
+                    new Field("id", FieldType.notNullable(new ArrowType.Int(64, true)), null),
+                    new Field("name", FieldType.notNullable(ArrowType.Utf8.INSTANCE), null),
+                    new Field("city_id", FieldType.notNullable(new ArrowType.Int(64, true)), null),
+                    new Field("city", new FieldType(true, ArrowType.Utf8.INSTANCE, cityDictionary.getEncoding()), null),
+                    new Field("country", new FieldType(true, ArrowType.Utf8.INSTANCE, countryDictionary.getEncoding()), null),
+                    new Field("address", FieldType.nullable(ArrowType.Utf8.INSTANCE), null),
+                    new Field("latitude", FieldType.nullable(new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)), null),
+                    new Field("longitude", FieldType.nullable(new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)), null)
+            ));
+
+            try (VectorSchemaRoot root = VectorSchemaRoot.create(schema, allocator);
+                 FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                         StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 ArrowFileWriter writer = new ArrowFileWriter(root, dictionaries, channel);
+                 Stream<AttractionSnapshotRow> rows = attractionRepository.streamSnapshot()) {
+
+                // dictionary-encoded fields are materialized as their int index vectors
+                BigIntVector id = (BigIntVector) root.getVector("id");
+                VarCharVector name = (VarCharVector) root.getVector("name");
+                BigIntVector cityId = (BigIntVector) root.getVector("city_id");
+                IntVector city = (IntVector) root.getVector("city");
+                IntVector country = (IntVector) root.getVector("country");
+                VarCharVector address = (VarCharVector) root.getVector("address");
+                Float8Vector latitude = (Float8Vector) root.getVector("latitude");
+                Float8Vector longitude = (Float8Vector) root.getVector("longitude");
+
+                writer.start();
+                long total = 0;
+                int batches = 0;
+                int inBatch = 0;
+                root.allocateNew();
+                Iterator<AttractionSnapshotRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    AttractionSnapshotRow row = iterator.next();
+                    id.setSafe(inBatch, row.id());
+                    name.setSafe(inBatch, row.name().getBytes(StandardCharsets.UTF_8));
+                    cityId.setSafe(inBatch, row.cityId());
+                    setIndex(city, inBatch, cityIndexById.get(row.cityId()));
+                    setIndex(country, inBatch, countryIndexByCityId.get(row.cityId()));
+                    if (row.address() != null) {
+                        address.setSafe(inBatch, row.address().getBytes(StandardCharsets.UTF_8));
+                    } else {
+                        address.setNull(inBatch);
+                    }
+                    setCoordinate(latitude, inBatch, row.latitude());
+                    setCoordinate(longitude, inBatch, row.longitude());
+
+                    inBatch++;
+                    total++;
+                    if (inBatch == batchSize) {
+                        root.setRowCount(inBatch);
+                        writer.writeBatch();
+                        batches++;
+                        root.allocateNew();
+                        inBatch = 0;
+                    }
+                }
+                if (inBatch > 0 || batches == 0) {
+                    root.setRowCount(inBatch);
+                    writer.writeBatch();
+                    batches++;
+                }
+                writer.end();
+                return new ColumnarExportResult(target.toString(), total, batches, writer.bytesWritten());
+            }
+        }
+    }
+
+    private static void setIndex(IntVector vector, int row, Integer index) {
+        if (index != null) {
+            vector.setSafe(row, index);
+        } else {
+            // city created after the dictionary was built
+            vector.setNull(row);
+        }
+    }
+
+    private static void setCoordinate(Float8Vector vector, int row, String value) {
+        double coordinate = GeoMath.parseCoordinate(value);
+        if (Double.isNaN(coordinate)) {
+            vector.setNull(row);
+        } else {
+            vector.setSafe(row, coordinate);
+        }
+    }
+
+    private void pruneOldExports(Path dir) throws IOException {
+        if (retain <= 0) {
+            return;
+        }
+        List<Path> exports;
+        try (Stream<Path> files = Files.list(dir)) {
+            // timestamped names sort chronologically
+            exports = files
+                    .filter(p -> {
+                        String fileName = p.getFileName().toString();
+                        return fileName.startsWith(FILE_PREFIX) && fileName.endsWith(FILE_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+        for (int i = 0; i < exports.size() - retain; i++) {
+            Files.deleteIfExists(exports.get(i));
+        }
+    }
+}
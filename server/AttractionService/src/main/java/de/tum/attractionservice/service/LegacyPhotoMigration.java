@@ -0,0 +1,129 @@
+package de.tum.attractionservice.service;
+
+import de.tum.attractionservice.model.PhotoUrl;
+import de.tum.attractionservice.repository.DatabaseDialect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves photos out of the {@code photos} table that backed the former {@code List<URL>} element
+ * collection into {@code photo_urls} and {@code attraction_photos}, keeping each attraction's order,
+ * then drops the old table. Deployments created after the switch never have that table, so this is a
+ * no-op for them.
+ */
+@Service
+public class LegacyPhotoMigration implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyPhotoMigration.class);
+
+    static final String LEGACY_TABLE = "photos";
+
+    private static final String POSTGRES_INSERT_URL =
+            "INSERT INTO photo_urls (id, url) VALUES (?, ?) ON CONFLICT (id) DO NOTHING";
+    private static final String PORTABLE_INSERT_URL =
+            "INSERT INTO photo_urls (id, url) SELECT ?, ? WHERE NOT EXISTS (SELECT 1 FROM photo_urls WHERE id = ?)";
+    private static final String INSERT_LINK =
+            "INSERT INTO attraction_photos (attraction_id, photo_id, position) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+    private final TransactionTemplate transactionTemplate;
+
+    public LegacyPhotoMigration(JdbcTemplate jdbcTemplate,
+                                DatabaseDialect dialect,
+                                PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Runs after Hibernate updated the schema and before the read models load the catalog.
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrate();
+    }
+
+    /** Migrates and drops the legacy table if it still exists; returns the number of photo links written. */
+    public int migrate() {
+        if (!legacyTableExists()) {
+            return 0;
+        }
+        Integer migrated = transactionTemplate.execute(status -> {
+            // the element collection had no order column, so the table's own row order was the photo order
+            Map<Long, List<String>> urlsByAttraction = new LinkedHashMap<>();
+            jdbcTemplate.query("SELECT id, photos FROM " + LEGACY_TABLE, rs -> {
+                urlsByAttraction.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getString(2));
+            });
+            // attractions saved since the upgrade already have photos in the new tables; those win
+            Set<Long> alreadyLinked = new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT DISTINCT attraction_id FROM attraction_photos", Long.class));
+
+            Map<String, String> urls = new LinkedHashMap<>();
+            List<Object[]> links = new ArrayList<>();
+            int skipped = 0;
+            for (Map.Entry<Long, List<String>> entry : urlsByAttraction.entrySet()) {
+                if (alreadyLinked.contains(entry.getKey())) {
+                    continue;
+                }
+                int position = 0;
+                for (String raw : entry.getValue()) {
+                    PhotoUrl url;
+                    try {
+                        url = PhotoUrl.parse(raw);
+                    } catch (IllegalArgumentException e) {
+                        // java.net.URL accepted schemes PhotoUrl rejects
+                        skipped++;
+                        continue;
+                    }
+                    urls.putIfAbsent(url.contentHash(), url.value());
+                    links.add(new Object[]{entry.getKey(), url.contentHash(), position++});
+                }
+            }
+
+            boolean onConflict = dialect.isPostgres();
+            List<Object[]> rows = new ArrayList<>(urls.size());
+            urls.forEach((id, url) -> rows.add(onConflict ? new Object[]{id, url} : new Object[]{id, url, id}));
+            jdbcTemplate.batchUpdate(onConflict ? POSTGRES_INSERT_URL : PORTABLE_INSERT_URL, rows);
+            jdbcTemplate.batchUpdate(INSERT_LINK, links);
+            jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE);
+
+            if (skipped > 0) {
+                log.warn("Skipped {} legacy photos that are not absolute http(s) URLs", skipped);
+            }
+            return links.size();
+        });
+        log.info("Migrated {} photos from the legacy {} table", migrated, LEGACY_TABLE);
+        return migrated == null ? 0 : migrated;
+    }
+
+    private boolean legacyTableExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // H2 stores unquoted names in upper case, Postgres in lower case
+            for (String name : new String[]{LEGACY_TABLE, LEGACY_TABLE.toUpperCase(Locale.ROOT)}) {
+                try (ResultSet tables = metaData.getTables(null, connection.getSchema(), name, new String[]{"TABLE"})) {
+                    if (tables.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }));
+    }
+}
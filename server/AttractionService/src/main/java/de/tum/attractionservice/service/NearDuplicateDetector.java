@@ -0,0 +1,168 @@
+package de.tum.attractionservice.service;
+
+import de.tum.attractionservice.export.AttractionSnapshotRow;
+import de.tum.attractionservice.importer.AttractionDTO;
+import de.tum.attractionservice.importer.NearDuplicate;
+import de.tum.attractionservice.importer.NearDuplicateAction;
+import de.tum.attractionservice.index.GeoMath;
+import de.tum.attractionservice.index.IndexPatcher;
+import de.tum.attractionservice.index.MinHash;
+import de.tum.attractionservice.index.NearDuplicateIndex;
+import de.tum.attractionservice.model.AttractionEntity;
+import de.tum.attractionservice.repository.AttractionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Flags imported attractions that are probably already known under a slightly different name.
+ * Name and description are reduced to MinHash signatures; an LSH index over the catalog (and one per
+ * import batch) yields candidates, which must also lie within {@code max-distance-km} of each other.
+ * Screening is linear in the batch size rather than quadratic in batch or catalog size.
+ */
+@Service
+public class NearDuplicateDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(NearDuplicateDetector.class);
+
+    private final AttractionRepository attractionRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IndexPatcher patcher = new IndexPatcher(lock);
+    private NearDuplicateIndex catalog = new NearDuplicateIndex();
+
+    private final Counter flaggedCounter;
+
+    @Value("${application.import.near-duplicates.enabled:true}")
+    private boolean enabled;
+
+    @Value("${application.import.near-duplicates.action:REPORT}")
+    private NearDuplicateAction action;
+
+    @Value("${application.import.near-duplicates.similarity-threshold:0.6}")
+    private double similarityThreshold;
+
+    @Value("${application.import.near-duplicates.max-distance-km:1.0}")
+    private double maxDistanceKm;
+
+    public NearDuplicateDetector(AttractionRepository attractionRepository, MeterRegistry registry) {
+        this.attractionRepository = attractionRepository;
+
+        this.flaggedCounter = Counter
+                .builder("attraction_service_near_duplicates_total")
+                .description("Imported records flagged as near-duplicates of another attraction")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        NearDuplicateIndex rebuilt = patcher.rebuild(() -> {
+            NearDuplicateIndex loaded = new NearDuplicateIndex();
+            try (Stream<AttractionSnapshotRow> rows = attractionRepository.streamSnapshot()) {
+                rows.forEach(row -> loaded.put(row.id(), row.name(),
+                        MinHash.signature(row.name(), row.description()),
+                        GeoMath.parseCoordinate(row.latitude()), GeoMath.parseCoordinate(row.longitude())));
+            }
+            return loaded;
+        }, loaded -> catalog = loaded);
+        log.info("Near-duplicate index rebuilt with {} attractions", rebuilt.size());
+    }
+
+    public NearDuplicateAction action() {
+        return action;
+    }
+
+    /** Starts screening one import; the returned batch is confined to the importing thread. */
+    public Batch newBatch() {
+        return new Batch();
+    }
+
+    /** Indexes the attraction once the surrounding transaction commits. */
+    public void indexAfterCommit(AttractionEntity attraction) {
+        if (!enabled) {
+            return;
+        }
+        long id = attraction.getId();
+        String name = attraction.getName();
+        int[] signature = MinHash.signature(name, attraction.getDescription());
+        double latitude = GeoMath.parseCoordinate(attraction.getLocation().getLatitude());
+        double longitude = GeoMath.parseCoordinate(attraction.getLocation().getLongitude());
+        patcher.patchAfterCommit(() -> catalog.put(id, name, signature, latitude, longitude));
+    }
+
+    /** Drops the attraction once the surrounding transaction commits. */
+    public void removeAfterCommit(long id) {
+        if (enabled) {
+            patcher.patchAfterCommit(() -> catalog.remove(id));
+        }
+    }
+
+    /** Screens the records of one import against the catalog and against each other. */
+    public final class Batch {
+
+        private final NearDuplicateIndex accepted = new NearDuplicateIndex();
+        private int next;
+
+        /** A screened record: its signature and the near-duplicate it matched, if any. */
+        public record Screening(String name, int[] signature, double latitude, double longitude,
+                                NearDuplicate match) {
+        }
+
+        public Screening screen(AttractionDTO dto) {
+            double latitude = GeoMath.parseCoordinate(dto.getLatitude());
+            double longitude = GeoMath.parseCoordinate(dto.getLongitude());
+            if (!enabled) {
+                return new Screening(dto.getName(), null, latitude, longitude, null);
+            }
+            int[] signature = MinHash.signature(dto.getName(), dto.getDescription());
+
+            NearDuplicateIndex.Match inCatalog;
+            lock.readLock().lock();
+            try {
+                inCatalog = catalog.findBest(signature, latitude, longitude, similarityThreshold, maxDistanceKm);
+            } finally {
+                lock.readLock().unlock();
+            }
+            NearDuplicateIndex.Match inBatch =
+                    accepted.findBest(signature, latitude, longitude, similarityThreshold, maxDistanceKm);
+
+            NearDuplicate match = null;
+            if (inCatalog != null && (inBatch == null || inCatalog.similarity() >= inBatch.similarity())) {
+                match = toNearDuplicate(dto.getName(), inCatalog, inCatalog.key());
+            } else if (inBatch != null) {
+                match = toNearDuplicate(dto.getName(), inBatch, null);
+            }
+            if (match != null) {
+                flaggedCounter.increment();
+            }
+            return new Screening(dto.getName(), signature, latitude, longitude, match);
+        }
+
+        /** Records that the screened record was imported, so later records of the batch are compared with it. */
+        public void accept(Screening screening) {
+            accepted.put(next++, screening.name(), screening.signature(), screening.latitude(), screening.longitude());
+        }
+
+        private NearDuplicate toNearDuplicate(String name, NearDuplicateIndex.Match match, Long matchedId) {
+            double distance = match.distanceKm();
+            return new NearDuplicate(name, match.name(), matchedId, match.similarity(),
+                    Double.isNaN(distance) ? null : distance, action == NearDuplicateAction.SKIP);
+        }
+    }
+}
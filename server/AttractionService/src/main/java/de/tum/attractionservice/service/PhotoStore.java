@@ -0,0 +1,129 @@
+package de.tum.attractionservice.service;
+
+import de.tum.attractionservice.index.IndexPatcher;
+import de.tum.attractionservice.model.PhotoEntity;
+import de.tum.attractionservice.repository.DatabaseDialect;
+import de.tum.attractionservice.model.PhotoUrl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores photo URLs once in the shared {@code photo_urls} table and hands out references to them.
+ * Ids are content hashes, so no lookup is needed to reference a photo; hashes known to be stored
+ * are remembered to skip the insert on later imports.
+ */
+@Service
+public class PhotoStore {
+
+    private static final int MAX_KNOWN_IDS = 100_000;
+
+    private static final String POSTGRES_INSERT =
+            "INSERT INTO photo_urls (id, url) VALUES (?, ?) ON CONFLICT (id) DO NOTHING";
+    private static final String PORTABLE_INSERT =
+            "INSERT INTO photo_urls (id, url) SELECT ?, ? WHERE NOT EXISTS (SELECT 1 FROM photo_urls WHERE id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Set<String> knownIds = ConcurrentHashMap.newKeySet();
+    private final DatabaseDialect dialect;
+
+    private final Counter storedCounter;
+    private final Counter reusedCounter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public PhotoStore(JdbcTemplate jdbcTemplate, DatabaseDialect dialect, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+
+        this.storedCounter = Counter
+                .builder("attraction_service_photos_stored_total")
+                .description("Distinct photo URLs written to the shared photo table")
+                .register(registry);
+        this.reusedCounter = Counter
+                .builder("attraction_service_photos_reused_total")
+                .description("Photo references that pointed at an already stored URL")
+                .register(registry);
+    }
+
+    @Transactional
+    public List<PhotoEntity> resolveUrls(Collection<String> urls) {
+        if (urls == null) {
+            return new ArrayList<>();
+        }
+        return resolve(urls.stream().map(PhotoUrl::parse).toList());
+    }
+
+    /**
+     * Makes sure every URL has a row and returns managed references in the given order
+     * (duplicates included).
+     */
+    @Transactional
+    public List<PhotoEntity> resolve(List<PhotoUrl> urls) {
+        if (urls == null) {
+            return new ArrayList<>();
+        }
+        Map<String, PhotoUrl> missing = new LinkedHashMap<>();
+        for (PhotoUrl url : urls) {
+            String id = url.contentHash();
+            if (!knownIds.contains(id)) {
+                missing.putIfAbsent(id, url);
+            }
+        }
+        reusedCounter.increment(urls.size() - missing.size());
+
+        if (!missing.isEmpty()) {
+            // flush so rows persisted through JPA earlier in this transaction are visible to the insert
+            entityManager.flush();
+            List<Object[]> rows = new ArrayList<>(missing.size());
+            boolean onConflict = dialect.isPostgres();
+            missing.forEach((id, url) -> rows.add(onConflict
+                    ? new Object[]{id, url.value()}
+                    : new Object[]{id, url.value(), id}));
+            int[] inserted = jdbcTemplate.batchUpdate(onConflict ? POSTGRES_INSERT : PORTABLE_INSERT, rows);
+            for (int count : inserted) {
+                if (count > 0) {
+                    storedCounter.increment(count);
+                }
+            }
+            remember(missing.keySet());
+        }
+
+        List<PhotoEntity> references = new ArrayList<>(urls.size());
+        for (PhotoUrl url : urls) {
+            references.add(entityManager.getReference(PhotoEntity.class, url.contentHash()));
+        }
+        return references;
+    }
+
+    /** Replaces unmanaged photos (e.g. deserialized from a request body) with stored references. */
+    @Transactional
+    public List<PhotoEntity> resolveEntities(List<PhotoEntity> photos) {
+        if (photos == null) {
+            return new ArrayList<>();
+        }
+        return resolve(photos.stream().map(PhotoEntity::getUrl).toList());
+    }
+
+    private void remember(Set<String> ids) {
+        if (knownIds.size() > MAX_KNOWN_IDS) {
+            // only an optimization; starting over costs a few no-op inserts
+            knownIds.clear();
+        }
+        List<String> added = List.copyOf(ids);
+        IndexPatcher.afterCommit(() -> knownIds.addAll(added));
+    }
+}
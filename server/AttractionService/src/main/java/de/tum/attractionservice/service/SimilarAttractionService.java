@@ -0,0 +1,133 @@
+package de.tum.attractionservice.service;
+
+import de.tum.attractionservice.export.AttractionSnapshotRow;
+import de.tum.attractionservice.export.SimilarAttraction;
+import de.tum.attractionservice.index.CatalogReadModel;
+import de.tum.attractionservice.index.IndexPatcher;
+import de.tum.attractionservice.index.TfIdfIndex;
+import de.tum.attractionservice.model.AttractionEntity;
+import de.tum.attractionservice.repository.AttractionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * "More like this" over attraction names and descriptions, answered from an in-memory
+ * {@link TfIdfIndex}. Built once the application is ready and patched after each committed write,
+ * like {@link NearDuplicateDetector}.
+ */
+@Service
+public class SimilarAttractionService {
+
+    public static final int MAX_RESULTS = 50;
+
+    private static final Logger log = LoggerFactory.getLogger(SimilarAttractionService.class);
+
+    private final AttractionRepository attractionRepository;
+    private final CatalogReadModel readModel;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IndexPatcher patcher = new IndexPatcher(lock);
+    private TfIdfIndex index = new TfIdfIndex();
+
+    @Value("${application.similar-attractions.enabled:true}")
+    private boolean enabled;
+
+    public SimilarAttractionService(AttractionRepository attractionRepository,
+                                    CatalogReadModel readModel,
+                                    MeterRegistry registry) {
+        this.attractionRepository = attractionRepository;
+        this.readModel = readModel;
+
+        Gauge.builder("attraction_service_similarity_index_bytes", this, SimilarAttractionService::sizeInBytes)
+                .description("Estimated heap used by the TF-IDF similarity index")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        TfIdfIndex rebuilt = patcher.rebuild(() -> {
+            TfIdfIndex loaded = new TfIdfIndex();
+            try (Stream<AttractionSnapshotRow> rows = attractionRepository.streamSnapshot()) {
+                rows.forEach(row -> loaded.put(row.id(), row.cityId(), row.name(), row.description()));
+            }
+            return loaded;
+        }, loaded -> index = loaded);
+        log.info("Similarity index rebuilt with {} attractions", rebuilt.size());
+    }
+
+    /**
+     * Up to {@code limit} attractions most similar to {@code id}, best first, optionally only from the
+     * same city. Empty if the attraction is not indexed.
+     */
+    public Optional<List<SimilarAttraction>> findSimilar(long id, int limit, boolean sameCity) {
+        int k = Math.max(1, Math.min(limit, MAX_RESULTS));
+        List<TfIdfIndex.Match> matches;
+        lock.readLock().lock();
+        try {
+            long cityId = sameCity ? index.cityOf(id) : -1;
+            matches = index.similar(id, k, cityId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (matches == null) {
+            return Optional.empty();
+        }
+        List<SimilarAttraction> result = new ArrayList<>(matches.size());
+        for (TfIdfIndex.Match match : matches) {
+            String name = readModel.nameOf(match.id());
+            // skip the rare attraction deleted between the two lookups
+            if (name != null) {
+                result.add(new SimilarAttraction(match.id(), name, match.cityId(), match.score()));
+            }
+        }
+        return Optional.of(result);
+    }
+
+    /** Indexes the attraction once the surrounding transaction commits. */
+    public void indexAfterCommit(AttractionEntity attraction) {
+        if (!enabled) {
+            return;
+        }
+        long id = attraction.getId();
+        long cityId = attraction.getCity().getId();
+        String name = attraction.getName();
+        String description = attraction.getDescription();
+        patcher.patchAfterCommit(() -> index.put(id, cityId, name, description));
+    }
+
+    /** Drops the attraction once the surrounding transaction commits. */
+    public void removeAfterCommit(long id) {
+        if (enabled) {
+            patcher.patchAfterCommit(() -> index.remove(id));
+        }
+    }
+
+    private long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return index.sizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
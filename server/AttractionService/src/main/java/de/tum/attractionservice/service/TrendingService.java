@@ -0,0 +1,243 @@
+package de.tum.attractionservice.service;
+
+import de.tum.attractionservice.export.TrendingAttraction;
+import de.tum.attractionservice.index.CatalogReadModel;
+import de.tum.attractionservice.index.CountMinSketch;
+import de.tum.attractionservice.index.HeavyHitters;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * "Trending now" per city over sliding windows of one hour and one day, without storing views. Each
+ * window is a ring of time buckets; a bucket holds a {@link CountMinSketch} of views per attraction and,
+ * per city, the {@link HeavyHitters} among them. A window's ranking sums sketch estimates over its
+ * buckets for the union of their heavy hitters; when a new bucket starts, the oldest one is dropped.
+ *
+ * <p>Memory is bounded by the bucket count: each bucket holds one sketch of {@code depth * width}
+ * counters plus at most {@code heavy-hitters} keys per city that had views in it.
+ */
+@Service
+public class TrendingService {
+
+    public static final int MAX_RESULTS = 50;
+
+    /** Sliding windows; the current, partly filled bucket counts as one of the window's buckets. */
+    public enum Window {
+        HOUR("1h", Duration.ofMinutes(5), 12),
+        DAY("24h", Duration.ofHours(1), 24);
+
+        private final String label;
+        private final long bucketMillis;
+        private final int buckets;
+
+        Window(String label, Duration bucket, int buckets) {
+            this.label = label;
+            this.bucketMillis = bucket.toMillis();
+            this.buckets = buckets;
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public static Optional<Window> parse(String label) {
+            for (Window window : values()) {
+                if (window.label.equalsIgnoreCase(label)) {
+                    return Optional.of(window);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    private static final class Bucket {
+        final long epoch;
+        final CountMinSketch sketch;
+        final Map<Long, HeavyHitters> byCity = new ConcurrentHashMap<>();
+
+        Bucket(long epoch, CountMinSketch sketch) {
+            this.epoch = epoch;
+            this.sketch = sketch;
+        }
+    }
+
+    private final CatalogReadModel readModel;
+    private final Map<Window, AtomicReferenceArray<Bucket>> rings = new EnumMap<>(Window.class);
+    private final MultiGauge topViewsGauge;
+
+    @Value("${application.trending.sketch-depth:4}")
+    private int sketchDepth;
+
+    @Value("${application.trending.sketch-width:2048}")
+    private int sketchWidth;
+
+    @Value("${application.trending.heavy-hitters:32}")
+    private int heavyHitters;
+
+    @Value("${application.trending.metrics-top:3}")
+    private int metricsTop;
+
+    public TrendingService(CatalogReadModel readModel, MeterRegistry registry) {
+        this.readModel = readModel;
+        for (Window window : Window.values()) {
+            rings.put(window, new AtomicReferenceArray<>(window.buckets));
+        }
+
+        Gauge.builder("attraction_service_trending_sketch_bytes", this, TrendingService::sizeInBytes)
+                .description("Approximate heap used by the trending sketches")
+                .baseUnit("bytes")
+                .register(registry);
+        this.topViewsGauge = MultiGauge
+                .builder("attraction_service_trending_views")
+                .description("Estimated views in the last hour of each city's top trending attractions")
+                .register(registry);
+    }
+
+    public void record(long attractionId) {
+        record(attractionId, System.currentTimeMillis());
+    }
+
+    void record(long attractionId, long nowMillis) {
+        long cityId = readModel.cityOf(attractionId);
+        if (cityId < 0) {
+            return;
+        }
+        for (Window window : Window.values()) {
+            Bucket bucket = current(window, nowMillis);
+            if (bucket != null) {
+                int estimate = bucket.sketch.increment(attractionId);
+                bucket.byCity.computeIfAbsent(cityId, id -> new HeavyHitters(heavyHitters))
+                        .offer(attractionId, estimate);
+            }
+        }
+    }
+
+    /** The city's most viewed attractions within the window, most viewed first. */
+    public List<TrendingAttraction> trending(long cityId, Window window, int limit) {
+        return trending(cityId, window, limit, System.currentTimeMillis());
+    }
+
+    List<TrendingAttraction> trending(long cityId, Window window, int limit, long nowMillis) {
+        int k = Math.max(1, Math.min(limit, MAX_RESULTS));
+        List<Bucket> buckets = live(window, nowMillis);
+        Set<Long> candidates = new HashSet<>();
+        for (Bucket bucket : buckets) {
+            HeavyHitters hitters = bucket.byCity.get(cityId);
+            if (hitters != null) {
+                for (long id : hitters.keys()) {
+                    candidates.add(id);
+                }
+            }
+        }
+
+        Map<Long, Long> views = new HashMap<>();
+        for (long id : candidates) {
+            long sum = 0;
+            for (Bucket bucket : buckets) {
+                sum += bucket.sketch.estimate(id);
+            }
+            views.put(id, sum);
+        }
+        List<Long> ranked = new ArrayList<>(candidates);
+        ranked.sort((a, b) -> {
+            int byViews = Long.compare(views.get(b), views.get(a));
+            return byViews != 0 ? byViews : Long.compare(a, b);
+        });
+
+        List<TrendingAttraction> result = new ArrayList<>(k);
+        for (long id : ranked) {
+            if (result.size() == k) {
+                break;
+            }
+            String name = readModel.nameOf(id);
+            // skip attractions deleted or moved to another city since they were viewed
+            if (name != null && readModel.cityOf(id) == cityId) {
+                result.add(new TrendingAttraction(id, name, views.get(id)));
+            }
+        }
+        return result;
+    }
+
+    /** Publishes the top attractions of every city viewed within the last hour as gauges. */
+    @Scheduled(fixedDelayString = "${application.trending.metrics-interval-ms:60000}")
+    public void publishMetrics() {
+        long now = System.currentTimeMillis();
+        Set<Long> cities = new HashSet<>();
+        for (Bucket bucket : live(Window.HOUR, now)) {
+            cities.addAll(bucket.byCity.keySet());
+        }
+        List<MultiGauge.Row<?>> rows = new ArrayList<>();
+        for (long cityId : cities) {
+            for (TrendingAttraction attraction : trending(cityId, Window.HOUR, metricsTop, now)) {
+                rows.add(MultiGauge.Row.of(
+                        Tags.of("city", String.valueOf(cityId), "attraction", String.valueOf(attraction.id())),
+                        attraction.views()));
+            }
+        }
+        topViewsGauge.register(rows, true);
+    }
+
+    public long sizeInBytes() {
+        long bytes = 0;
+        for (AtomicReferenceArray<Bucket> ring : rings.values()) {
+            for (int i = 0; i < ring.length(); i++) {
+                Bucket bucket = ring.get(i);
+                if (bucket != null) {
+                    bytes += bucket.sketch.sizeInBytes();
+                    for (HeavyHitters hitters : bucket.byCity.values()) {
+                        bytes += hitters.sizeInBytes() + 64;
+                    }
+                }
+            }
+        }
+        return bytes;
+    }
+
+    // the bucket for now, replacing the slot's expired bucket; null for a writer whose clock lags a rotation
+    private Bucket current(Window window, long nowMillis) {
+        AtomicReferenceArray<Bucket> ring = rings.get(window);
+        long epoch = nowMillis / window.bucketMillis;
+        int slot = (int) (epoch % window.buckets);
+        while (true) {
+            Bucket bucket = ring.get(slot);
+            if (bucket != null && bucket.epoch >= epoch) {
+                return bucket.epoch == epoch ? bucket : null;
+            }
+            // writers still holding the expired bucket only touch a discarded object
+            Bucket fresh = new Bucket(epoch, new CountMinSketch(sketchDepth, sketchWidth));
+            if (ring.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private List<Bucket> live(Window window, long nowMillis) {
+        AtomicReferenceArray<Bucket> ring = rings.get(window);
+        long epoch = nowMillis / window.bucketMillis;
+        List<Bucket> buckets = new ArrayList<>(window.buckets);
+        for (int i = 0; i < ring.length(); i++) {
+            Bucket bucket = ring.get(i);
+            if (bucket != null && bucket.epoch <= epoch && bucket.epoch > epoch - window.buckets) {
+                buckets.add(bucket);
+            }
+        }
+        return buckets;
+    }
+}
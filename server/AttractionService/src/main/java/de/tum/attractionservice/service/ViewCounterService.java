@@ -0,0 +1,233 @@
+package de.tum.attractionservice.service;
+
+import de.tum.attractionservice.export.AttractionViews;
+import de.tum.attractionservice.index.CatalogReadModel;
+import de.tum.attractionservice.index.IndexPatcher;
+import de.tum.attractionservice.repository.DatabaseDialect;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts attraction detail views without touching the database per view. Each view increments a
+ * striped {@link LongAdder}; a scheduled flush writes the aggregated deltas as one batched upsert into
+ * {@code attraction_views}, so a crash loses at most one flush interval of views.
+ *
+ * <p>Totals also stay in memory for ranking by popularity. They start from the table when the
+ * application is ready and then only see this instance's views; {@link #getViews} reads the table and
+ * is exact across instances. Every view is also passed on to {@link TrendingService}.
+ */
+@Service
+public class ViewCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(ViewCounterService.class);
+
+    private static final String POSTGRES_UPSERT =
+            "INSERT INTO attraction_views (attraction_id, views) VALUES (?, ?) "
+                    + "ON CONFLICT (attraction_id) DO UPDATE SET views = attraction_views.views + EXCLUDED.views";
+    private static final String PORTABLE_UPDATE =
+            "UPDATE attraction_views SET views = views + ? WHERE attraction_id = ?";
+    private static final String PORTABLE_INSERT =
+            "INSERT INTO attraction_views (attraction_id, views) SELECT ?, ? "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM attraction_views WHERE attraction_id = ?)";
+    private static final String SELECT_VIEWS = "SELECT views FROM attraction_views WHERE attraction_id = ?";
+    private static final String DELETE_VIEWS = "DELETE FROM attraction_views WHERE attraction_id = ?";
+
+    /** Receives one viewed attraction per call during {@link #forEachTotal}. */
+    @FunctionalInterface
+    public interface TotalVisitor {
+        void visit(long attractionId, long views);
+    }
+
+    /** Views of one attraction: flushed ones known to this instance and ones still pending. */
+    private static final class ViewCount {
+        final LongAdder pending = new LongAdder();
+        // written by the flusher only
+        volatile long persisted;
+    }
+
+    private final CatalogReadModel readModel;
+    private final DatabaseDialect dialect;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TrendingService trendingService;
+    private final Map<Long, ViewCount> counts = new ConcurrentHashMap<>();
+    private volatile long maxViews;
+
+    private final Counter viewsCounter;
+    private final Counter flushedRowsCounter;
+    private final Counter flushFailuresCounter;
+    private final Timer flushTimer;
+
+    public ViewCounterService(CatalogReadModel readModel,
+                              DatabaseDialect dialect,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              TrendingService trendingService,
+                              MeterRegistry registry) {
+        this.readModel = readModel;
+        this.dialect = dialect;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.trendingService = trendingService;
+
+        this.viewsCounter = Counter
+                .builder("attraction_service_attraction_views_total")
+                .description("Attraction detail views recorded")
+                .register(registry);
+        this.flushedRowsCounter = Counter
+                .builder("attraction_service_view_flush_rows_total")
+                .description("Per-attraction view deltas written to the attraction_views table")
+                .register(registry);
+        this.flushFailuresCounter = Counter
+                .builder("attraction_service_view_flush_failures_total")
+                .description("View flushes that failed and were retried on the next run")
+                .register(registry);
+        this.flushTimer = Timer
+                .builder("attraction_service_view_flush_duration_seconds")
+                .description("Time to write one batch of view deltas")
+                .register(registry);
+        Gauge.builder("attraction_service_pending_views", this, ViewCounterService::pendingViews)
+                .description("Views recorded in memory but not yet written to the database")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadTotals() {
+        jdbcTemplate.query("SELECT attraction_id, views FROM attraction_views", rs -> {
+            long views = rs.getLong(2);
+            counts.computeIfAbsent(rs.getLong(1), id -> new ViewCount()).persisted = views;
+            maxViews = Math.max(maxViews, views);
+        });
+    }
+
+    public void record(long attractionId) {
+        ViewCount count = counts.get(attractionId);
+        if (count == null) {
+            count = counts.computeIfAbsent(attractionId, id -> new ViewCount());
+        }
+        count.pending.increment();
+        viewsCounter.increment();
+        trendingService.record(attractionId);
+    }
+
+    /** Empty if the attraction does not exist. */
+    public Optional<AttractionViews> getViews(long attractionId) {
+        if (!readModel.contains(attractionId)) {
+            return Optional.empty();
+        }
+        List<Long> persisted = jdbcTemplate.queryForList(SELECT_VIEWS, Long.class, attractionId);
+        ViewCount count = counts.get(attractionId);
+        long pending = count == null ? 0 : count.pending.sum();
+        return Optional.of(new AttractionViews(attractionId, (persisted.isEmpty() ? 0 : persisted.get(0)) + pending));
+    }
+
+    /** Visits the totals known to this instance, for ranking; attractions never viewed are skipped. */
+    public void forEachTotal(TotalVisitor visitor) {
+        counts.forEach((id, count) -> visitor.visit(id, count.persisted + count.pending.sum()));
+    }
+
+    /** Highest per-attraction total as of the last flush. */
+    public long maxViews() {
+        return maxViews;
+    }
+
+    /**
+     * Writes the pending deltas. A delta is subtracted from its counter only after the batch commits,
+     * so views recorded meanwhile stay pending and a failed batch is simply retried.
+     */
+    @Scheduled(fixedDelayString = "${application.views.flush-interval-ms:5000}")
+    public synchronized int flush() {
+        List<Long> ids = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+        List<ViewCount> flushed = new ArrayList<>();
+        for (Map.Entry<Long, ViewCount> entry : counts.entrySet()) {
+            long delta = entry.getValue().pending.sum();
+            if (delta > 0 && readModel.contains(entry.getKey())) {
+                ids.add(entry.getKey());
+                deltas.add(delta);
+                flushed.add(entry.getValue());
+            }
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> write(ids, deltas)));
+        } catch (RuntimeException e) {
+            flushFailuresCounter.increment();
+            log.warn("Writing {} view deltas failed, retrying on the next run", ids.size(), e);
+            return 0;
+        }
+        long max = maxViews;
+        for (int i = 0; i < flushed.size(); i++) {
+            ViewCount count = flushed.get(i);
+            count.pending.add(-deltas.get(i));
+            count.persisted += deltas.get(i);
+            max = Math.max(max, count.persisted);
+        }
+        maxViews = max;
+        flushedRowsCounter.increment(ids.size());
+        return ids.size();
+    }
+
+    /** Drops the attraction's views together with the attraction; the in-memory count goes after commit. */
+    public void forget(long attractionId) {
+        jdbcTemplate.update(DELETE_VIEWS, attractionId);
+        IndexPatcher.afterCommit(() -> counts.remove(attractionId));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void write(List<Long> ids, List<Long> deltas) {
+        if (dialect.isPostgres()) {
+            List<Object[]> rows = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                rows.add(new Object[]{ids.get(i), deltas.get(i)});
+            }
+            jdbcTemplate.batchUpdate(POSTGRES_UPSERT, rows);
+            return;
+        }
+        List<Object[]> updates = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            updates.add(new Object[]{deltas.get(i), ids.get(i)});
+        }
+        int[] updated = jdbcTemplate.batchUpdate(PORTABLE_UPDATE, updates);
+        for (int i = 0; i < ids.size(); i++) {
+            if (updated[i] == 0 && jdbcTemplate.update(PORTABLE_INSERT, ids.get(i), deltas.get(i), ids.get(i)) == 0) {
+                // inserted concurrently by another instance since the update
+                jdbcTemplate.update(PORTABLE_UPDATE, deltas.get(i), ids.get(i));
+            }
+        }
+    }
+
+    private double pendingViews() {
+        long sum = 0;
+        for (ViewCount count : counts.values()) {
+            sum += count.pending.sum();
+        }
+        return sum;
+    }
+}
@@ -6,20 +6,55 @@ import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import de.tum.attractionservice.cache.CatalogResponseCache;
+import de.tum.attractionservice.image.CatalogImage;
 import de.tum.attractionservice.model.AttractionEntity;
 import de.tum.attractionservice.model.CityEntity;
+import de.tum.attractionservice.model.Location;
+import de.tum.attractionservice.model.OpeningHours;
+import de.tum.attractionservice.model.PhotoEntity;
 import de.tum.attractionservice.repository.AttractionRepository;
 import de.tum.attractionservice.repository.CityRepository;
+import de.tum.attractionservice.repository.PhotoRepository;
+import de.tum.attractionservice.support.QueryBudget;
+import de.tum.attractionservice.support.QueryBudgetConfiguration;
+import jakarta.persistence.EntityManager;
 
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -28,18 +63,34 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ActiveProfiles("test")
 @DisplayName("Attraction Controller Integration Tests")
 @Transactional
+@Import(QueryBudgetConfiguration.class)
 public class AttractionControllerIntegrationTest {
 
     @Autowired
     private CityRepository cityRepository;
     @Autowired
     private AttractionRepository attractionRepository;
+    @Autowired
+    private CatalogResponseCache responseCache;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private PhotoRepository photoRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private QueryBudget queryBudget;
+    @Autowired
+    private EntityManager entityManager;
 
     private Long testCityId;
     private Long testAttractionId;
 
     @BeforeEach
     void setUp() {
+        // Fixtures are written through the repositories, so drop any pages cached by earlier tests
+        responseCache.invalidateAll();
+
         // Clean up database
         attractionRepository.deleteAll();
         cityRepository.deleteAll();
@@ -233,4 +284,371 @@ public class AttractionControllerIntegrationTest {
         mockMvc.perform(get("/attractions/id/" + testAttractionId))
                 .andExpect(status().isOk());
     }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Cached city page - Import invalidates the cached response")
+    void getAttractionsByCity_AfterImport_ShouldNotServeStalePage() throws Exception {
+        mockMvc.perform(get("/attractions/city/Munich"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1));
+
+        String attractionJson = """
+            [
+                {
+                "name": "Englischer Garten",
+                "description": "Large public park in the centre of Munich.",
+                "city": "Munich",
+                "country": "Germany",
+                "openingHours": ["Monday: 00:00 - 23:59"],
+                "photos": ["https://example.com/garden.jpg"],
+                "website": "https://www.englischer-garten.de",
+                "address": "Englischer Garten, 80538 München",
+                "latitude": "48.164",
+                "longitude": "11.605"
+                }
+            ]
+            """;
+        mockMvc.perform(post("/attractions/list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(attractionJson))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/attractions/city/Munich"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("Catalog snapshot - Streams gzipped NDJSON joined with city and location")
+    void getCatalogSnapshot_AsAnonymousUser_ShouldReturnGzippedNdjson() throws Exception {
+        byte[] body = mockMvc.perform(get("/attractions/snapshot"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(body)), StandardCharsets.UTF_8))) {
+            List<String> lines = reader.lines().toList();
+            assertThat(lines).hasSize(1);
+            assertThat(lines.get(0))
+                    .contains("\"name\":\"Test Attraction\"")
+                    .contains("\"cityName\":\"Munich\"")
+                    .contains("\"address\":\"Test Address\"");
+        }
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Columnar export - Writes a dictionary-encoded Arrow file")
+    void exportColumnar_AsAdmin_ShouldWriteArrowFile() throws Exception {
+        String body = mockMvc.perform(post("/attractions/exports/columnar"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.rows").value(1))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        JsonNode result = objectMapper.readTree(body);
+
+        try (BufferAllocator allocator = new RootAllocator();
+             FileChannel channel = FileChannel.open(Path.of(result.get("file").asText()));
+             ArrowFileReader reader = new ArrowFileReader(channel, allocator)) {
+            assertThat(reader.loadNextBatch()).isTrue();
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            assertThat(root.getRowCount()).isEqualTo(1);
+
+            IntVector cityIndex = (IntVector) root.getVector("city");
+            long dictionaryId = root.getSchema().findField("city").getDictionary().getId();
+            VarCharVector cities = (VarCharVector) reader.getDictionaryVectors().get(dictionaryId).getVector();
+            assertThat(new String(cities.get(cityIndex.get(0)), StandardCharsets.UTF_8)).isEqualTo("Munich");
+            assertThat(root.getVector("latitude").getObject(0)).isEqualTo(48.1351);
+        }
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Catalog image - Built image resolves attractions by id and name")
+    void buildCatalogImage_AsAdmin_ShouldBeReadableById() throws Exception {
+        String body = mockMvc.perform(post("/attractions/exports/image"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.records").value(1))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        CatalogImage image = CatalogImage.open(Path.of(objectMapper.readTree(body).get("file").asText()));
+        assertThat(image.size()).isEqualTo(1);
+        assertThat(image.findJsonById(testAttractionId + 1)).isNull();
+        assertThat(image.findJsonByName("Unknown")).isNull();
+
+        ByteBuffer json = image.findJsonByName("Test Attraction");
+        assertThat(json).isNotNull();
+        assertThat(StandardCharsets.UTF_8.decode(json).toString()).contains("\"website\":\"https://test.com\"");
+        assertThat(image.findJsonById(testAttractionId)).isNotNull();
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Import attractions - Shared photo URLs are stored once")
+    void createAttractions_WithSharedPhoto_ShouldStorePhotoOnce() throws Exception {
+        long photosBefore = photoRepository.count();
+        String attractionJson = """
+            [
+                {
+                "name": "Frauenkirche",
+                "description": "Cathedral of the Archdiocese of Munich.",
+                "city": "Munich",
+                "country": "Germany",
+                "openingHours": ["Monday: 08:00 - 20:00"],
+                "photos": ["https://example.com/shared.jpg", "https://example.com/shared.jpg"],
+                "website": "https://www.muenchner-dom.de",
+                "address": "Frauenplatz 12, 80331 München",
+                "latitude": "48.1386",
+                "longitude": "11.5736"
+                },
+                {
+                "name": "Marienplatz",
+                "description": "Central square of Munich.",
+                "city": "Munich",
+                "country": "Germany",
+                "openingHours": ["Monday: 00:00 - 23:59"],
+                "photos": ["HTTPS://example.com/shared.jpg"],
+                "website": "https://www.muenchen.de",
+                "address": "Marienplatz, 80331 München",
+                "latitude": "48.1374",
+                "longitude": "11.5755"
+                }
+            ]
+            """;
+
+        mockMvc.perform(post("/attractions/list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(attractionJson))
+                .andExpect(status().isCreated());
+
+        assertThat(photoRepository.count()).isEqualTo(photosBefore + 1);
+        mockMvc.perform(get("/attractions/Frauenkirche"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.photos[0]").value("https://example.com/shared.jpg"))
+                .andExpect(jsonPath("$.photos.length()").value(2));
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Import attractions - Upsert rewrites changed records and skips unchanged ones")
+    void importAttractions_UpsertMode_ShouldSkipUnchangedRecords() throws Exception {
+        String template = """
+            [
+                {
+                "name": "Englischer Garten",
+                "description": "%s",
+                "city": "Munich",
+                "country": "Germany",
+                "openingHours": ["Monday: 00:00 - 23:59"],
+                "photos": ["https://example.com/garden.jpg"],
+                "website": "https://www.schloesser.bayern.de",
+                "address": "Englischer Garten, 80538 München",
+                "latitude": "48.1642",
+                "longitude": "11.6056"
+                }
+            ]
+            """;
+
+        mockMvc.perform(post("/attractions/list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(template.formatted("Large public park.")))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.inserted").value(1));
+
+        mockMvc.perform(post("/attractions/list")
+                        .param("mode", "UPSERT")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(template.formatted("Large public park.")))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.unchanged").value(1))
+                .andExpect(jsonPath("$.updated").value(0));
+
+        mockMvc.perform(post("/attractions/list")
+                        .param("mode", "UPSERT")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(template.formatted("One of the largest urban parks in the world.")))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.updated").value(1));
+
+        mockMvc.perform(get("/attractions/Englischer Garten"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("One of the largest urban parks in the world."));
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Import attractions - Near-duplicate names within a batch are reported")
+    void importAttractions_WithNearDuplicateName_ShouldReportIt() throws Exception {
+        String attractionJson = """
+            [
+                {
+                "name": "Nymphenburg Palace",
+                "description": "Baroque palace and summer residence of the rulers of Bavaria.",
+                "city": "Munich",
+                "country": "Germany",
+                "openingHours": ["Monday: 09:00 - 18:00"],
+                "photos": [],
+                "website": "https://www.schloss-nymphenburg.de",
+                "address": "Schloß Nymphenburg 1, 80638 München",
+                "latitude": "48.1583",
+                "longitude": "11.5033"
+                },
+                {
+                "name": "Schloss Nymphenburg Palace",
+                "description": "Baroque palace and summer residence of the rulers of Bavaria.",
+                "city": "Munich",
+                "country": "Germany",
+                "openingHours": ["Monday: 09:00 - 18:00"],
+                "photos": [],
+                "website": "https://www.schloss-nymphenburg.de",
+                "address": "Schloß Nymphenburg 1, 80638 München",
+                "latitude": "48.1584",
+                "longitude": "11.5035"
+                }
+            ]
+            """;
+
+        mockMvc.perform(post("/attractions/list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(attractionJson))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.inserted").value(2))
+                .andExpect(jsonPath("$.nearDuplicates").value(1))
+                .andExpect(jsonPath("$.nearDuplicateMatches[0].name").value("Schloss Nymphenburg Palace"))
+                .andExpect(jsonPath("$.nearDuplicateMatches[0].matchedName").value("Nymphenburg Palace"));
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Import attractions - Near-duplicate names are reported even when the descriptions differ")
+    void importAttractions_WithNearDuplicateNameAndOtherDescription_ShouldReportIt() throws Exception {
+        String attractionJson = """
+            [
+                {
+                "name": "Nymphenburg Palace",
+                "description": "Baroque palace and summer residence of the rulers of Bavaria, with a large park, the Marstallmuseum and a porcelain collection.",
+                "city": "Munich",
+                "country": "Germany",
+                "openingHours": [],
+                "photos": [],
+                "address": "Schloß Nymphenburg 1, 80638 München",
+                "latitude": "48.1583",
+                "longitude": "11.5033"
+                },
+                {
+                "name": "Schloss Nymphenburg Palace",
+                "description": "Former royal residence in the west of the city, known for its gardens, canals and pavilions.",
+                "city": "Munich",
+                "country": "Germany",
+                "openingHours": [],
+                "photos": [],
+                "address": "Schloß Nymphenburg 1, 80638 München",
+                "latitude": "48.1584",
+                "longitude": "11.5035"
+                }
+            ]
+            """;
+
+        mockMvc.perform(post("/attractions/list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(attractionJson))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.nearDuplicates").value(1))
+                .andExpect(jsonPath("$.nearDuplicateMatches[0].matchedName").value("Nymphenburg Palace"));
+    }
+
+    @Test
+    @DisplayName("Get specific attraction - Queries per request are recorded per endpoint")
+    void getAttractionById_AsAnonymousUser_ShouldRecordQueriesPerRequest() throws Exception {
+        mockMvc.perform(get("/attractions/id/" + testAttractionId))
+                .andExpect(status().isOk());
+
+        DistributionSummary summary = meterRegistry.find("attraction_service_http_queries_per_request")
+                .tags("uri", "/attractions/id/{id}", "method", "GET")
+                .summary();
+        assertThat(summary).isNotNull();
+        assertThat(summary.count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Get attractions by city - Controller and marked service methods are timed")
+    void getAttractionsByCity_AsAnonymousUser_ShouldRecordMethodTimers() throws Exception {
+        mockMvc.perform(get("/attractions/city/Munich"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/attractions/Test Attraction"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/attractions/id/" + testAttractionId))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.find("attraction_service_method_duration_seconds")
+                .tags("layer", "controller", "method", "getAttractionsByCity", "status", "200")
+                .timer()).isNotNull();
+        assertThat(meterRegistry.find("attraction_service_method_duration_seconds")
+                .tags("layer", "service", "class", "AttractionService", "method", "getAttractionsByCity",
+                        "outcome", "success")
+                .timer()).isNotNull();
+        // per-event service paths are not marked for timing
+        assertThat(meterRegistry.find("attraction_service_method_duration_seconds")
+                .tags("layer", "service", "class", "ViewCounterService")
+                .timers()).isEmpty();
+        assertThat(meterRegistry.get("attraction_service_get_by_name_duration_seconds").timer().count())
+                .isPositive();
+    }
+
+    @Test
+    @DisplayName("Get attractions - Listing pages stay within their query budget")
+    void getAttractions_AsAnonymousUser_ShouldStayWithinQueryBudget() throws Exception {
+        CityEntity city = cityRepository.findById(testCityId).orElseThrow();
+        for (int i = 1; i <= 10; i++) {
+            AttractionEntity attraction = new AttractionEntity();
+            attraction.setName("Budget Attraction " + i);
+            attraction.setDescription("Fixture for the query budget");
+            attraction.setCity(city);
+
+            Location location = new Location();
+            location.setAddress("Budget Street " + i);
+            location.setCountry("Germany");
+            location.setLatitude(Double.toString(48.1 + i * 0.01));
+            location.setLongitude("11.5820");
+            attraction.setLocation(location);
+
+            OpeningHours hours = new OpeningHours();
+            hours.setDay("Monday");
+            hours.setFromTime("09:00");
+            hours.setToTime("18:00");
+            attraction.setOpeningHours(new ArrayList<>(List.of(hours)));
+            attraction.setPhotos(new ArrayList<>(List.of(
+                    photoRepository.save(PhotoEntity.of("https://example.com/budget-" + i + ".jpg")))));
+            attractionRepository.save(attraction);
+        }
+        // Start from an empty persistence context, as a real request would
+        entityManager.flush();
+        entityManager.clear();
+
+        // page + count, then one batched load each for opening hours and photos
+        queryBudget.assertAtMost(4, () -> mockMvc.perform(get("/attractions").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10)));
+        queryBudget.assertAtMost(4, () -> mockMvc.perform(get("/attractions/city/Munich").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10)));
+    }
+
+    @Test
+    @DisplayName("Get specific attraction - Lookup by id stays within its query budget")
+    void getAttractionById_AsAnonymousUser_ShouldStayWithinQueryBudget() throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+
+        // entity with its to-one associations, then opening hours and photos
+        queryBudget.assertAtMost(3, () -> mockMvc.perform(get("/attractions/id/" + testAttractionId))
+                .andExpect(status().isOk()));
+    }
 }
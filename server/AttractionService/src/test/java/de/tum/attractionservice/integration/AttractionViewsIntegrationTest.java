@@ -0,0 +1,88 @@
+package de.tum.attractionservice.integration;
+
+import de.tum.attractionservice.service.ViewCounterService;
+import de.tum.attractionservice.support.SimlandCatalog;
+import de.tum.attractionservice.support.SimlandCatalogConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static de.tum.attractionservice.support.SimlandCatalog.attraction;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not transactional: views are flushed in their own transaction
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Attraction Views Integration Tests")
+@Import(SimlandCatalogConfiguration.class)
+public class AttractionViewsIntegrationTest extends BaseIntegrationTest {
+
+    private static final String NAME = "Much Viewed Clock Tower";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SimlandCatalog catalog;
+    @Autowired
+    private ViewCounterService viewCounter;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() throws Exception {
+        catalog.cleanUp();
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Attraction views - Counted in memory, flushed in batches and used for ranking")
+    void getAttractionViews_AfterDetailReads_ShouldCountAndPersistViews() throws Exception {
+        long id = catalog.importAttractions(attraction(NAME, "Viewtown", 46.0, 9.0))[0];
+        long cityId = catalog.cityId("Viewtown");
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/attractions/id/" + id))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/attractions/id/" + id + "/views"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.views").value(3));
+
+        viewCounter.flush();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT views FROM attraction_views WHERE attraction_id = ?", Long.class, id)).isEqualTo(3L);
+
+        mockMvc.perform(get("/attractions/id/" + id))
+                .andExpect(status().isOk());
+        viewCounter.flush();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT views FROM attraction_views WHERE attraction_id = ?", Long.class, id)).isEqualTo(4L);
+        mockMvc.perform(get("/attractions/id/" + id + "/views"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.views").value(4));
+
+        mockMvc.perform(get("/attractions/ranked").param("cityId", String.valueOf(cityId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attractions[0].factors.popularity").exists());
+
+        mockMvc.perform(delete("/attractions/" + id))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/attractions/id/" + id + "/views"))
+                .andExpect(status().isNotFound());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM attraction_views WHERE attraction_id = ?", Long.class, id)).isZero();
+    }
+}
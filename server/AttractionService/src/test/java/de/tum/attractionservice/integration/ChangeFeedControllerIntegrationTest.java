@@ -0,0 +1,80 @@
+package de.tum.attractionservice.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.tum.attractionservice.model.ChangeEventEntity;
+import de.tum.attractionservice.model.CityEntity;
+import de.tum.attractionservice.repository.ChangeEventRepository;
+import de.tum.attractionservice.service.CityService;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Change Feed Controller Integration Tests")
+@Transactional
+public class ChangeFeedControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CityService cityService;
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    private long checkpoint;
+
+    @BeforeEach
+    void setUp() {
+        // Other tests share the context, so only look at changes made after this point
+        checkpoint = changeEventRepository.findAll().stream()
+                .mapToLong(ChangeEventEntity::getSeq)
+                .max()
+                .orElse(0);
+    }
+
+    @Test
+    @DisplayName("Get changes - Anonymous user can access")
+    void getChanges_AsAnonymousUser_ShouldReturnSuccess() throws Exception {
+        mockMvc.perform(get("/changes"))
+                .andExpect(status().isOk());
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Get changes - Create and delete are reported in order with a tombstone")
+    void getChanges_AfterCreateAndDelete_ShouldReturnUpsertThenTombstone() throws Exception {
+        CityEntity city = new CityEntity();
+        city.setName("Feed City");
+        city.setCountry("Germany");
+        Long cityId = cityService.createCity(city).getId();
+        cityService.deleteCity(cityId);
+
+        mockMvc.perform(get("/changes").param("since", String.valueOf(checkpoint)).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(1))
+                .andExpect(jsonPath("$.changes[0].entityType").value("CITY"))
+                .andExpect(jsonPath("$.changes[0].entityId").value(cityId))
+                .andExpect(jsonPath("$.changes[0].operation").value("UPSERT"))
+                .andExpect(jsonPath("$.nextCursor").value(checkpoint + 1))
+                .andExpect(jsonPath("$.hasMore").value(true));
+
+        mockMvc.perform(get("/changes").param("since", String.valueOf(checkpoint + 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(1))
+                .andExpect(jsonPath("$.changes[0].operation").value("DELETE"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+}
@@ -1,27 +1,58 @@
 package de.tum.attractionservice.integration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.tum.attractionservice.model.CityEntity;
+import de.tum.attractionservice.repository.AttractionRepository;
+import de.tum.attractionservice.repository.CityRepository;
+import de.tum.attractionservice.service.CityStatisticsService;
+import de.tum.attractionservice.service.ViewCounterService;
+import de.tum.attractionservice.support.QueryBudget;
+import de.tum.attractionservice.support.QueryBudgetConfiguration;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
 @SpringBootTest
 @ActiveProfiles("test")
 @DisplayName("City Controller Integration Tests")
+@Import(QueryBudgetConfiguration.class)
 public class CityControllerIntegrationTest extends BaseIntegrationTest {
 
     @Autowired
     private MockMvc mockMvc;
+    @Autowired
+    private CityRepository cityRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private AttractionRepository attractionRepository;
+    @Autowired
+    private CityStatisticsService cityStatisticsService;
+    @Autowired
+    private QueryBudget queryBudget;
+    @Autowired
+    private ViewCounterService viewCounterService;
 
     @Test
     @DisplayName("Get all cities - Anonymous user can access")
@@ -84,4 +115,246 @@ public class CityControllerIntegrationTest extends BaseIntegrationTest {
                 .content(cityJson))
                 .andExpect(status().isUnauthorized());
     }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Get city - Reads are served from the second-level cache until the city is deleted")
+    void getCity_AfterCreate_ShouldBeServedFromCacheUntilDeleted() throws Exception {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        String cityJson = """
+            {
+                "name": "Cache Test City",
+                "country": "Germany",
+                "description": "A city read through the second-level cache"
+            }
+            """;
+
+        String created = mockMvc.perform(post("/cities")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(cityJson))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long cityId = objectMapper.readTree(created).get("id").asLong();
+
+        long entityHits = statistics.getDomainDataRegionStatistics(CityEntity.CACHE_REGION).getHitCount();
+        mockMvc.perform(get("/cities/" + cityId))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/cities/" + cityId))
+                .andExpect(status().isOk());
+        assertThat(statistics.getDomainDataRegionStatistics(CityEntity.CACHE_REGION).getHitCount())
+                .isGreaterThan(entityHits);
+
+        // the first lookup creates and fills the query region, the second is answered from it
+        assertThat(cityRepository.findByName("Cache Test City")).isPresent();
+        long queryHits = statistics.getQueryRegionStatistics(CityEntity.QUERY_CACHE_REGION).getHitCount();
+        assertThat(cityRepository.findByName("Cache Test City")).isPresent();
+        assertThat(statistics.getQueryRegionStatistics(CityEntity.QUERY_CACHE_REGION).getHitCount())
+                .isGreaterThan(queryHits);
+
+        mockMvc.perform(delete("/cities/" + cityId))
+                .andExpect(status().isNoContent());
+        assertThat(sessionFactory.getCache().containsEntity(CityEntity.class, cityId)).isFalse();
+        assertThat(cityRepository.findByName("Cache Test City")).isEmpty();
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Get cities - Pages by cursor within a country and honours If-None-Match")
+    void getCities_ByCountry_ShouldPageByCursorWithEtag() throws Exception {
+        long[] ids = new long[2];
+        for (int i = 0; i < ids.length; i++) {
+            String created = mockMvc.perform(post("/cities")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                {"name": "Cursor City %d", "country": "Cursorland"}
+                                """.formatted(i)))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            ids[i] = objectMapper.readTree(created).get("id").asLong();
+        }
+
+        String etag = mockMvc.perform(get("/cities").param("country", "cursorland").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cities.length()").value(1))
+                .andExpect(jsonPath("$.cities[0].name").value("Cursor City 0"))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.nextCursor").value(ids[0]))
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/cities").param("country", "Cursorland").param("after", Long.toString(ids[0])))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cities.length()").value(1))
+                .andExpect(jsonPath("$.cities[0].name").value("Cursor City 1"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        mockMvc.perform(get("/cities").param("country", "cursorland").param("size", "1")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // a write swaps the snapshot, so the old tag no longer matches
+        mockMvc.perform(delete("/cities/" + ids[1]))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/cities").param("country", "cursorland").param("size", "1")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        mockMvc.perform(delete("/cities/" + ids[0]))
+                .andExpect(status().isNoContent());
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Get city stats - Aggregates follow attraction writes and the centroid is written back")
+    void getCityStats_AfterImport_ShouldReflectAttractionsAndPersistCentroid() throws Exception {
+        String created = mockMvc.perform(post("/cities")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"name": "Stats City", "country": "Statland"}
+                            """))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long cityId = objectMapper.readTree(created).get("id").asLong();
+
+        mockMvc.perform(get("/cities/" + cityId + "/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attractions").value(0))
+                .andExpect(jsonPath("$.centroidLatitude").doesNotExist());
+
+        String attractionsJson = """
+            [
+                {
+                "name": "Stats Tower",
+                "description": "Open around the clock.",
+                "city": "Stats City",
+                "country": "Statland",
+                "openingHours": ["Monday: 00:00 - 23:59", "Tuesday: 00:00 - 23:59", "Wednesday: 00:00 - 23:59",
+                                 "Thursday: 00:00 - 23:59", "Friday: 00:00 - 23:59", "Saturday: 00:00 - 23:59",
+                                 "Sunday: 00:00 - 23:59"],
+                "address": "Tower Street 1",
+                "latitude": "10.0",
+                "longitude": "20.0"
+                },
+                {
+                "name": "Stats Square",
+                "description": "A square without opening hours.",
+                "city": "Stats City",
+                "country": "Statland",
+                "openingHours": [],
+                "address": "Square 1",
+                "latitude": "12.0",
+                "longitude": "24.0"
+                }
+            ]
+            """;
+        mockMvc.perform(post("/attractions/list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(attractionsJson))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/cities/" + cityId + "/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attractions").value(2))
+                .andExpect(jsonPath("$.centroidLatitude").value(11.0))
+                .andExpect(jsonPath("$.centroidLongitude").value(22.0))
+                .andExpect(jsonPath("$.minLatitude").value(10.0))
+                .andExpect(jsonPath("$.maxLongitude").value(24.0))
+                .andExpect(jsonPath("$.withOpeningHours").value(1))
+                .andExpect(jsonPath("$.openNow").value(1))
+                .andExpect(jsonPath("$.openNowShare").value(1.0));
+
+        cityStatisticsService.persistCentroids();
+        mockMvc.perform(get("/cities/" + cityId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.latitude").value(11.0))
+                .andExpect(jsonPath("$.longitude").value(22.0));
+
+        // removing the square shrinks the box back to the tower
+        long squareId = attractionRepository.findByName("Stats Square").orElseThrow().getId();
+        mockMvc.perform(delete("/attractions/" + squareId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/cities/" + cityId + "/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attractions").value(1))
+                .andExpect(jsonPath("$.maxLatitude").value(10.0))
+                .andExpect(jsonPath("$.maxLongitude").value(20.0));
+
+        long towerId = attractionRepository.findByName("Stats Tower").orElseThrow().getId();
+        mockMvc.perform(delete("/attractions/" + towerId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/cities/" + cityId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/cities/" + cityId + "/stats"))
+                .andExpect(status().isNotFound());
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Get city overview - One bundled response from two queries, cached until the next write")
+    void getCityOverview_AfterImport_ShouldBundleCityStatsAndAttractions() throws Exception {
+        String created = mockMvc.perform(post("/cities")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"name": "Overview City", "country": "Overviewland"}
+                            """))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long cityId = objectMapper.readTree(created).get("id").asLong();
+
+        String attractionsJson = """
+            [
+                {"name": "Overview C", "description": "Third by name.", "city": "Overview City",
+                 "country": "Overviewland", "openingHours": [], "address": "C Street 1",
+                 "latitude": "1.0", "longitude": "1.0"},
+                {"name": "Overview A", "description": "First by name.", "city": "Overview City",
+                 "country": "Overviewland", "openingHours": [], "address": "A Street 1",
+                 "photos": ["https://example.com/a-1.jpg", "https://example.com/a-2.jpg"],
+                 "latitude": "1.5", "longitude": "1.5"},
+                {"name": "Overview B", "description": "Second by name.", "city": "Overview City",
+                 "country": "Overviewland", "openingHours": [], "address": "B Street 1",
+                 "latitude": "2.0", "longitude": "2.0"}
+            ]
+            """;
+        mockMvc.perform(post("/attractions/list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(attractionsJson))
+                .andExpect(status().isCreated());
+        // the most viewed attraction comes first, the rest by name
+        long cId = attractionRepository.findByName("Overview C").orElseThrow().getId();
+        mockMvc.perform(get("/attractions/id/" + cId))
+                .andExpect(status().isOk());
+        viewCounterService.flush();
+
+        queryBudget.assertAtMost(2, () -> mockMvc.perform(get("/cities/" + cityId + "/overview").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.city.name").value("Overview City"))
+                .andExpect(jsonPath("$.stats.attractions").value(3))
+                .andExpect(jsonPath("$.attractions.length()").value(2))
+                .andExpect(jsonPath("$.attractions[0].name").value("Overview C"))
+                .andExpect(jsonPath("$.attractions[0].coverPhoto").doesNotExist())
+                .andExpect(jsonPath("$.attractions[1].name").value("Overview A"))
+                .andExpect(jsonPath("$.attractions[1].coverPhoto").value("https://example.com/a-1.jpg")));
+        queryBudget.assertAtMost(0, () -> mockMvc.perform(get("/cities/" + cityId + "/overview").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stats.attractions").value(3)));
+
+        // a write drops the cached bundle
+        mockMvc.perform(delete("/attractions/" + cId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/cities/" + cityId + "/overview").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stats.attractions").value(2));
+
+        for (String name : new String[]{"Overview A", "Overview B"}) {
+            long id = attractionRepository.findByName(name).orElseThrow().getId();
+            mockMvc.perform(delete("/attractions/" + id))
+                    .andExpect(status().isNoContent());
+        }
+        mockMvc.perform(delete("/cities/" + cityId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/cities/" + cityId + "/overview"))
+                .andExpect(status().isNotFound());
+    }
 }
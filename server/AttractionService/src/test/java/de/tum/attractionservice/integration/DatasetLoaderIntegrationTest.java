@@ -0,0 +1,83 @@
+package de.tum.attractionservice.integration;
+
+import de.tum.attractionservice.importer.DatasetLoadResult;
+import de.tum.attractionservice.importer.DatasetLoader;
+import de.tum.attractionservice.repository.AttractionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Dataset Loader Integration Tests")
+@Transactional
+public class DatasetLoaderIntegrationTest {
+
+    @Autowired
+    private DatasetLoader datasetLoader;
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private static String record(String name) {
+        return """
+            {"name": "%s", "description": "Loaded from a dataset file.", "city": "Augsburg", "country": "Germany", \
+            "openingHours": ["Monday: 10:00 - 17:00"], "photos": [], "website": "https://example.com", \
+            "address": "Rathausplatz 1, 86150 Augsburg", "latitude": "48.3689", "longitude": "10.8978"}
+            """.formatted(name);
+    }
+
+    @Test
+    @DisplayName("Load NDJSON dataset - A completed load is not repeated")
+    void load_NdjsonDataset_ShouldImportOnce() throws Exception {
+        Path dataset = tempDir.resolve("attractions.ndjson");
+        Files.writeString(dataset, record("Fuggerei") + record("Augsburg Cathedral") + record("Perlachturm"),
+                StandardCharsets.UTF_8);
+        Path checkpoint = tempDir.resolve("attractions.checkpoint");
+
+        DatasetLoadResult first = datasetLoader.load(dataset, checkpoint);
+        assertThat(first.processed()).isEqualTo(3);
+        assertThat(first.inserted()).isEqualTo(3);
+        assertThat(attractionRepository.findByName("Perlachturm")).isPresent();
+
+        DatasetLoadResult second = datasetLoader.load(dataset, checkpoint);
+        assertThat(second.resumedFrom()).isEqualTo(3);
+        assertThat(second.processed()).isZero();
+    }
+
+    @Test
+    @DisplayName("Load NDJSON dataset - An interrupted load resumes at the checkpoint")
+    void load_WithCheckpoint_ShouldResumeAfterCommittedRecords() throws Exception {
+        String firstLine = record("Schaezlerpalais");
+        Path dataset = tempDir.resolve("attractions.ndjson");
+        Files.writeString(dataset, firstLine + record("Augsburger Puppenkiste"), StandardCharsets.UTF_8);
+        Path checkpoint = tempDir.resolve("attractions.checkpoint");
+        Files.writeString(checkpoint, """
+                file-size=%d
+                last-modified=%d
+                records=1
+                byte-offset=%d
+                complete=false
+                """.formatted(Files.size(dataset), Files.getLastModifiedTime(dataset).toMillis(),
+                firstLine.getBytes(StandardCharsets.UTF_8).length));
+
+        DatasetLoadResult result = datasetLoader.load(dataset, checkpoint);
+
+        assertThat(result.resumedFrom()).isEqualTo(1);
+        assertThat(result.processed()).isEqualTo(1);
+        assertThat(attractionRepository.findByName("Augsburger Puppenkiste")).isPresent();
+        assertThat(attractionRepository.findByName("Schaezlerpalais")).isEmpty();
+    }
+}
@@ -0,0 +1,93 @@
+package de.tum.attractionservice.integration;
+
+import de.tum.attractionservice.repository.AttractionRepository;
+import de.tum.attractionservice.repository.CityRepository;
+import de.tum.attractionservice.service.LegacyPhotoMigration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not transactional: the migration runs in its own transaction and drops a table
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Legacy Photo Migration Integration Tests")
+public class LegacyPhotoMigrationIntegrationTest extends BaseIntegrationTest {
+
+    private static final String PHOTOS_OF = """
+            SELECT u.url FROM attraction_photos p JOIN photo_urls u ON u.id = p.photo_id
+            WHERE p.attraction_id = ? ORDER BY p.position
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private LegacyPhotoMigration migration;
+    @Autowired
+    private AttractionRepository attractionRepository;
+    @Autowired
+    private CityRepository cityRepository;
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Legacy photos - Copied in order into the shared photo table, then the old table is dropped")
+    void migrate_WithLegacyPhotosTable_ShouldMoveAndDropIt() throws Exception {
+        String attractionsJson = """
+            [
+                {"name": "Legacy Arch", "city": "Oldtown", "country": "Simland", "openingHours": [],
+                 "address": "Gate 1", "latitude": "47.0", "longitude": "10.0"},
+                {"name": "Legacy Keep", "city": "Oldtown", "country": "Simland", "openingHours": [],
+                 "photos": ["https://example.com/keep-new.jpg"], "address": "Gate 2", "latitude": "47.01", "longitude": "10.01"}
+            ]
+            """;
+        mockMvc.perform(post("/attractions/list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(attractionsJson))
+                .andExpect(status().isCreated());
+        long arch = attractionRepository.findByName("Legacy Arch").orElseThrow().getId();
+        long keep = attractionRepository.findByName("Legacy Keep").orElseThrow().getId();
+
+        // the table Hibernate generated for the former List<URL> element collection
+        jdbcTemplate.execute("CREATE TABLE photos (id BIGINT NOT NULL, photos VARCHAR(255))");
+        jdbcTemplate.update("INSERT INTO photos (id, photos) VALUES (?, ?)", arch, "https://example.com/arch-2.jpg");
+        jdbcTemplate.update("INSERT INTO photos (id, photos) VALUES (?, ?)", arch, "ftp://example.com/arch.jpg");
+        jdbcTemplate.update("INSERT INTO photos (id, photos) VALUES (?, ?)", arch, "https://example.com/arch-1.jpg");
+        jdbcTemplate.update("INSERT INTO photos (id, photos) VALUES (?, ?)", keep, "https://example.com/keep-old.jpg");
+
+        assertThat(migration.migrate()).isEqualTo(2);
+
+        assertThat(jdbcTemplate.queryForList(PHOTOS_OF, String.class, arch))
+                .containsExactly("https://example.com/arch-2.jpg", "https://example.com/arch-1.jpg");
+        // photos saved after the upgrade are left alone
+        assertThat(jdbcTemplate.queryForList(PHOTOS_OF, String.class, keep))
+                .containsExactly("https://example.com/keep-new.jpg");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE LOWER(table_name) = 'photos'", Long.class))
+                .isZero();
+        assertThat(migration.migrate()).isZero();
+
+        for (long id : List.of(arch, keep)) {
+            mockMvc.perform(delete("/attractions/" + id))
+                    .andExpect(status().isNoContent());
+        }
+        long oldtown = cityRepository.findByName("Oldtown").orElseThrow().getId();
+        mockMvc.perform(delete("/cities/" + oldtown))
+                .andExpect(status().isNoContent());
+    }
+}
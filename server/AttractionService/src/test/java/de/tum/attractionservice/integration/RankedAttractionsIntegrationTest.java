@@ -0,0 +1,78 @@
+package de.tum.attractionservice.integration;
+
+import de.tum.attractionservice.support.SimlandCatalog;
+import de.tum.attractionservice.support.SimlandCatalogConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static de.tum.attractionservice.support.SimlandCatalog.attraction;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not transactional: the read model behind the ranking is patched after commit
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Ranked Attractions Integration Tests")
+@Import(SimlandCatalogConfiguration.class)
+public class RankedAttractionsIntegrationTest extends BaseIntegrationTest {
+
+    private static final String[] NAMES = {"Rankburg Cathedral", "Rankburg Museum", "Old Cathedral of Rankburg"};
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SimlandCatalog catalog;
+
+    @AfterEach
+    void cleanUp() throws Exception {
+        catalog.cleanUp();
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Ranked attractions - Combines distance and text match, drops non-matching attractions")
+    void getRankedAttractions_AfterImport_ShouldCombineFactors() throws Exception {
+        catalog.importAttractions(
+                attraction(NAMES[0], "Rankburg", 47.0, 10.0),
+                attraction(NAMES[1], "Rankburg", 47.01, 10.01),
+                attraction(NAMES[2], "Rankburg", 47.2, 10.2));
+        long cityId = catalog.cityId("Rankburg");
+
+        mockMvc.perform(get("/attractions/ranked")
+                        .param("latitude", "47.0")
+                        .param("longitude", "10.0")
+                        .param("cityId", String.valueOf(cityId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.candidates").value(3))
+                .andExpect(jsonPath("$.attractions[0].name").value(NAMES[0]))
+                .andExpect(jsonPath("$.attractions[1].name").value(NAMES[1]))
+                .andExpect(jsonPath("$.attractions[2].name").value(NAMES[2]))
+                .andExpect(jsonPath("$.attractions[0].factors.distance").value(1.0));
+
+        // the museum matches no search word and drops out, although it is closer than the old cathedral
+        mockMvc.perform(get("/attractions/ranked")
+                        .param("latitude", "47.0")
+                        .param("longitude", "10.0")
+                        .param("q", "cathedral")
+                        .param("cityId", String.valueOf(cityId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.candidates").value(2))
+                .andExpect(jsonPath("$.attractions.length()").value(2))
+                .andExpect(jsonPath("$.attractions[0].name").value(NAMES[0]))
+                .andExpect(jsonPath("$.attractions[1].name").value(NAMES[2]))
+                .andExpect(jsonPath("$.attractions[1].factors.text").value(1.0));
+
+        mockMvc.perform(get("/attractions/ranked").param("latitude", "47.0"))
+                .andExpect(status().isBadRequest());
+    }
+}
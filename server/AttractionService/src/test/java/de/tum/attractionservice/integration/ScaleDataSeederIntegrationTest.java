@@ -0,0 +1,48 @@
+package de.tum.attractionservice.integration;
+
+import de.tum.attractionservice.ScaleDataSeeder;
+import de.tum.attractionservice.model.AttractionEntity;
+import de.tum.attractionservice.repository.AttractionRepository;
+import de.tum.attractionservice.repository.CityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Scale Data Seeder Integration Tests")
+@Transactional
+public class ScaleDataSeederIntegrationTest {
+
+    @Autowired
+    private ScaleDataSeeder scaleDataSeeder;
+    @Autowired
+    private AttractionRepository attractionRepository;
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Test
+    @DisplayName("Seed scaled catalog - Writes every chunk with its child rows")
+    void seed_SmallSpec_ShouldWriteAllAttractions() {
+        long attractionsBefore = attractionRepository.count();
+        long citiesBefore = cityRepository.count();
+
+        ScaleDataSeeder.Result result = scaleDataSeeder.seed(new ScaleDataSeeder.Spec(4, 250, 7L, 1.1, 100, 2));
+
+        assertThat(result.attractions()).isEqualTo(250);
+        assertThat(attractionRepository.count()).isEqualTo(attractionsBefore + 250);
+        assertThat(cityRepository.count()).isEqualTo(citiesBefore + 4);
+
+        AttractionEntity last = attractionRepository.findAll().stream()
+                .filter(a -> a.getName().endsWith(" 250"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(last.getPhotos()).isNotEmpty();
+        assertThat(last.getLocation().getLatitude()).isNotBlank();
+    }
+}
@@ -0,0 +1,109 @@
+package de.tum.attractionservice.integration;
+
+import de.tum.attractionservice.support.SimlandCatalog;
+import de.tum.attractionservice.support.SimlandCatalogConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static de.tum.attractionservice.support.SimlandCatalog.attraction;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.anonymous;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not transactional: the embedding index drops deleted attractions after commit
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Semantic Search Integration Tests")
+@Import(SimlandCatalogConfiguration.class)
+public class SemanticSearchIntegrationTest extends BaseIntegrationTest {
+
+    private static final String[] NAMES = {
+            "Vector Tower", "Vector Gallery", "Vector Park", "Faraway Vector Bridge"};
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SimlandCatalog catalog;
+
+    @AfterEach
+    void cleanUp() throws Exception {
+        catalog.cleanUp();
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Semantic search - Nearest embeddings first, optionally within one city")
+    void semanticSearch_AfterUploadingEmbeddings_ShouldRankByCosineSimilarity() throws Exception {
+        long[] ids = catalog.importAttractions(
+                attraction(NAMES[0], "Vectown", 48.0, 11.0),
+                attraction(NAMES[1], "Vectown", 48.01, 11.01),
+                attraction(NAMES[2], "Vectown", 48.02, 11.02),
+                attraction(NAMES[3], "Farville", 49.0, 12.0));
+        long vectownId = catalog.cityId("Vectown");
+
+        String embeddingsJson = """
+            [
+                {"attractionId": %d, "vector": [1.0, 0.0, 0.0, 0.0]},
+                {"attractionId": %d, "vector": [0.0, 1.0, 0.0, 0.0]},
+                {"attractionId": %d, "vector": [0.0, 0.0, 2.0, 0.0]},
+                {"attractionId": %d, "vector": [0.9, 0.1, 0.0, 0.0]},
+                {"attractionId": 987654321, "vector": [0.0, 0.0, 0.0, 1.0]}
+            ]
+            """.formatted(ids[0], ids[1], ids[2], ids[3]);
+        mockMvc.perform(post("/attractions/embeddings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(embeddingsJson))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.accepted").value(4))
+                .andExpect(jsonPath("$.unknownAttractions").value(1))
+                .andExpect(jsonPath("$.dimension").value(4));
+
+        // anonymous callers may search
+        mockMvc.perform(post("/attractions/semantic-search")
+                        .with(anonymous())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"vector\": [1.0, 0.05, 0.0, 0.0], \"limit\": 2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value(NAMES[0]))
+                .andExpect(jsonPath("$[1].name").value(NAMES[3]));
+
+        mockMvc.perform(post("/attractions/semantic-search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"vector\": [0.9, 0.1, 0.0, 0.0], \"cityId\": %d, \"limit\": 2}".formatted(vectownId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value(NAMES[0]))
+                .andExpect(jsonPath("$[1].name").value(NAMES[1]));
+
+        mockMvc.perform(post("/attractions/semantic-search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"vector\": [1.0, 0.0, 0.0]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/attractions/embeddings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"attractionId\": %d, \"vector\": [0.0, 0.0, 0.0, 0.0]}]".formatted(ids[0])))
+                .andExpect(status().isBadRequest());
+
+        // a deleted attraction drops out of the index
+        mockMvc.perform(delete("/attractions/" + ids[0]))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post("/attractions/semantic-search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"vector\": [1.0, 0.0, 0.0, 0.0], \"limit\": 1}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value(NAMES[3]));
+    }
+}
@@ -0,0 +1,83 @@
+package de.tum.attractionservice.integration;
+
+import de.tum.attractionservice.support.SimlandCatalog;
+import de.tum.attractionservice.support.SimlandCatalogConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static de.tum.attractionservice.support.SimlandCatalog.attraction;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not transactional: the similarity index is patched after commit
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Similar Attractions Integration Tests")
+@Import(SimlandCatalogConfiguration.class)
+public class SimilarAttractionsIntegrationTest extends BaseIntegrationTest {
+
+    private static final String[] NAMES = {
+            "Cathedral of Saint Alban", "Minster of Saint Brigid", "Chestnut Beer Garden", "Cathedral of Saint Corbin"};
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SimlandCatalog catalog;
+
+    @AfterEach
+    void cleanUp() throws Exception {
+        catalog.cleanUp();
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Similar attractions - Ranked by shared description terms, optionally within the city")
+    void getSimilarAttractions_AfterImport_ShouldRankByTextSimilarity() throws Exception {
+        long[] ids = catalog.importAttractions(
+                attraction(NAMES[0], "Simtown", 50.0, 8.0).withDescription(
+                        "Gothic cathedral with stained glass windows and twin spires above the old town."),
+                attraction(NAMES[1], "Simtown", 50.01, 8.01).withDescription(
+                        "A gothic cathedral famous for its stained glass and carved portal."),
+                attraction(NAMES[2], "Simtown", 50.02, 8.02).withDescription(
+                        "Shady beer garden under chestnut trees serving pretzels."),
+                attraction(NAMES[3], "Otherville", 51.0, 9.0).withDescription(
+                        "Gothic cathedral spires and stained glass, the landmark of the river town."));
+        long albanId = ids[0];
+        long simtownId = catalog.cityId("Simtown");
+
+        mockMvc.perform(get("/attractions/id/" + albanId + "/similar").param("sameCity", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value(NAMES[1]))
+                .andExpect(jsonPath("$[*].cityId", everyItem(is((int) simtownId))));
+
+        // other test data may also mention cathedrals, so only check that both close matches are ranked
+        mockMvc.perform(get("/attractions/id/" + albanId + "/similar").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", hasItems(NAMES[1], NAMES[3])));
+
+        // a deleted attraction drops out of the index
+        long brigidId = ids[1];
+        mockMvc.perform(delete("/attractions/" + brigidId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/attractions/id/" + albanId + "/similar").param("sameCity", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/attractions/id/" + brigidId + "/similar"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,78 @@
+package de.tum.attractionservice.integration;
+
+import de.tum.attractionservice.support.SimlandCatalog;
+import de.tum.attractionservice.support.SimlandCatalogConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static de.tum.attractionservice.support.SimlandCatalog.attraction;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not transactional: views are resolved through the read model, which is patched after commit
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Trending Attractions Integration Tests")
+@Import(SimlandCatalogConfiguration.class)
+public class TrendingAttractionsIntegrationTest extends BaseIntegrationTest {
+
+    private static final String[] NAMES = {"Trendtown Aquarium", "Trendtown Library"};
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SimlandCatalog catalog;
+
+    @AfterEach
+    void cleanUp() throws Exception {
+        catalog.cleanUp();
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Trending attractions - Most viewed in the city within the window first")
+    void getTrendingAttractions_AfterDetailReads_ShouldRankByViews() throws Exception {
+        long[] ids = catalog.importAttractions(
+                attraction(NAMES[0], "Trendtown", 45.0, 8.0),
+                attraction(NAMES[1], "Trendtown", 45.01, 8.01));
+        long cityId = catalog.cityId("Trendtown");
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/attractions/id/" + ids[0]))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/attractions/id/" + ids[1]))
+                .andExpect(status().isOk());
+
+        for (String window : new String[]{"1h", "24h"}) {
+            mockMvc.perform(get("/cities/" + cityId + "/trending").param("window", window))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].name").value(NAMES[0]))
+                    .andExpect(jsonPath("$[0].views").value(3))
+                    .andExpect(jsonPath("$[1].name").value(NAMES[1]))
+                    .andExpect(jsonPath("$[1].views").value(1));
+        }
+        mockMvc.perform(get("/cities/" + cityId + "/trending").param("window", "7d"))
+                .andExpect(status().isBadRequest());
+
+        for (long id : ids) {
+            mockMvc.perform(delete("/attractions/" + id))
+                    .andExpect(status().isNoContent());
+        }
+        mockMvc.perform(get("/cities/" + cityId + "/trending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+}
@@ -0,0 +1,80 @@
+package de.tum.attractionservice.support;
+
+import de.tum.attractionservice.metrics.SqlFingerprint;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the JDBC executions a test action issues and fails the test when they exceed a budget. Only
+ * the calling thread is recorded; MockMvc handles the request on the test thread, so scheduled jobs
+ * running at the same time never count against it. A JDBC batch counts as one execution.
+ *
+ * <pre>{@code
+ * queryBudget.assertAtMost(4, () -> mockMvc.perform(get("/attractions").param("size", "10"))
+ *         .andExpect(status().isOk()));
+ * }</pre>
+ *
+ * In {@code @Transactional} tests flush and clear the entity manager first, otherwise fixture writes
+ * are flushed inside the action and lookups are served from the persistence context.
+ */
+public class QueryBudget implements QueryExecutionListener {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private final ThreadLocal<List<String>> recording = new ThreadLocal<>();
+
+    /** Runs the action and returns the fingerprints of the statements it executed, in order. */
+    public List<String> record(Action action) throws Exception {
+        List<String> statements = new ArrayList<>();
+        recording.set(statements);
+        try {
+            action.run();
+        } finally {
+            recording.remove();
+        }
+        return statements;
+    }
+
+    public void assertAtMost(int maxStatements, Action action) throws Exception {
+        List<String> statements = record(action);
+        if (statements.size() > maxStatements) {
+            throw new AssertionError(report(maxStatements, statements));
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<String> statements = recording.get();
+        if (statements != null && !queryInfoList.isEmpty()) {
+            statements.add(SqlFingerprint.of(queryInfoList.get(0).getQuery()));
+        }
+    }
+
+    private static String report(int maxStatements, List<String> statements) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        statements.forEach(statement -> counts.merge(statement, 1, Integer::sum));
+
+        StringBuilder message = new StringBuilder()
+                .append("Expected at most ").append(maxStatements).append(" statements but ")
+                .append(statements.size()).append(" were executed:");
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> message.append(System.lineSeparator())
+                        .append(String.format("  %3d x [%s] %s", entry.getValue(),
+                                SqlFingerprint.id(entry.getKey()), entry.getKey())));
+        return message.toString();
+    }
+}
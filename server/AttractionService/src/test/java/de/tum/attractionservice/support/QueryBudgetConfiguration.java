@@ -0,0 +1,17 @@
+package de.tum.attractionservice.support;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Adds a {@link QueryBudget} to the test context. The application's data source proxy
+ * ({@code QueryTelemetryConfig}) reports to every listener bean, so registering it is enough.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryBudgetConfiguration {
+
+    @Bean
+    public QueryBudget queryBudget() {
+        return new QueryBudget();
+    }
+}
@@ -0,0 +1,118 @@
+package de.tum.attractionservice.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.tum.attractionservice.model.CityEntity;
+import de.tum.attractionservice.repository.AttractionRepository;
+import de.tum.attractionservice.repository.CityRepository;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Imports test attractions in the country "Simland" through {@code POST /attractions/list} and deletes
+ * them, and the cities the import created, in {@link #cleanUp}. Call that from {@code @AfterEach} so the
+ * rows go even when an assertion fails first. Attractions a test already deleted are skipped.
+ * Registered by {@link SimlandCatalogConfiguration}.
+ *
+ * <pre>{@code
+ * long[] ids = catalog.importAttractions(
+ *         SimlandCatalog.attraction("Rankburg Cathedral", "Rankburg", 47.0, 10.0),
+ *         SimlandCatalog.attraction("Rankburg Museum", "Rankburg", 47.01, 10.01));
+ * }</pre>
+ */
+public class SimlandCatalog {
+
+    /** One attraction to import; {@code description} may be null. */
+    public record Attraction(String name, String city, String description, double latitude, double longitude) {
+
+        public Attraction withDescription(String description) {
+            return new Attraction(name, city, description, latitude, longitude);
+        }
+    }
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final AttractionRepository attractionRepository;
+    private final CityRepository cityRepository;
+    private final Set<Long> attractionIds = new LinkedHashSet<>();
+    private final Set<String> cities = new LinkedHashSet<>();
+
+    public SimlandCatalog(MockMvc mockMvc, ObjectMapper objectMapper,
+                          AttractionRepository attractionRepository, CityRepository cityRepository) {
+        this.mockMvc = mockMvc;
+        this.objectMapper = objectMapper;
+        this.attractionRepository = attractionRepository;
+        this.cityRepository = cityRepository;
+    }
+
+    public static Attraction attraction(String name, String city, double latitude, double longitude) {
+        return new Attraction(name, city, null, latitude, longitude);
+    }
+
+    /** Imports the attractions as an admin and returns their ids in the given order. */
+    public long[] importAttractions(Attraction... attractions) throws Exception {
+        List<Map<String, Object>> body = new ArrayList<>(attractions.length);
+        for (Attraction attraction : attractions) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("name", attraction.name());
+            if (attraction.description() != null) {
+                json.put("description", attraction.description());
+            }
+            json.put("city", attraction.city());
+            json.put("country", "Simland");
+            json.put("openingHours", List.of());
+            json.put("address", attraction.name() + " 1");
+            json.put("latitude", String.valueOf(attraction.latitude()));
+            json.put("longitude", String.valueOf(attraction.longitude()));
+            body.add(json);
+            cities.add(attraction.city());
+        }
+        mockMvc.perform(post("/attractions/list")
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isCreated());
+
+        long[] ids = new long[attractions.length];
+        for (int i = 0; i < attractions.length; i++) {
+            ids[i] = attractionRepository.findByName(attractions[i].name()).orElseThrow().getId();
+            attractionIds.add(ids[i]);
+        }
+        return ids;
+    }
+
+    public long cityId(String city) {
+        return cityRepository.findByName(city).orElseThrow().getId();
+    }
+
+    /** Deletes the imported attractions that still exist, then their cities. */
+    public void cleanUp() throws Exception {
+        try {
+            for (long id : attractionIds) {
+                if (attractionRepository.existsById(id)) {
+                    mockMvc.perform(delete("/attractions/" + id).with(user("admin").roles("ADMIN")));
+                }
+            }
+            for (String city : cities) {
+                Long cityId = cityRepository.findByName(city).map(CityEntity::getId).orElse(null);
+                if (cityId != null) {
+                    mockMvc.perform(delete("/cities/" + cityId).with(user("admin").roles("ADMIN")));
+                }
+            }
+        } finally {
+            attractionIds.clear();
+            cities.clear();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package de.tum.attractionservice.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.tum.attractionservice.repository.AttractionRepository;
+import de.tum.attractionservice.repository.CityRepository;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Adds a {@link SimlandCatalog} to the test context. Needs {@code @AutoConfigureMockMvc}, since the
+ * catalog imports and deletes through the API like a client would.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class SimlandCatalogConfiguration {
+
+    @Bean
+    public SimlandCatalog simlandCatalog(MockMvc mockMvc, ObjectMapper objectMapper,
+                                         AttractionRepository attractionRepository, CityRepository cityRepository) {
+        return new SimlandCatalog(mockMvc, objectMapper, attractionRepository, cityRepository);
+    }
+}
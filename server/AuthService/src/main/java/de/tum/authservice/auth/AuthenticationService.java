@@ -1,6 +1,7 @@
 package de.tum.authservice.auth;
 
 import de.tum.authservice.config.JwtService;
+import de.tum.authservice.metrics.TimedOperation;
 import de.tum.authservice.token.Token;
 import de.tum.authservice.token.TokenRepository;
 import de.tum.authservice.token.TokenType;
@@ -24,6 +25,7 @@ import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.MeterRegistry;
 
 @Service
+@TimedOperation
 public class AuthenticationService {
     private final UserRepository repository;
     private final TokenRepository tokenRepository;
@@ -1,5 +1,6 @@
 package de.tum.authservice.user;
 
+import de.tum.authservice.metrics.TimedOperation;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -11,6 +12,7 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 
 @Service
+@TimedOperation
 public class UserService {
 
     private final PasswordEncoder passwordEncoder;
@@ -1,6 +1,7 @@
 package de.tum.userservice.conversation;
 
 import de.tum.userservice.conversation.dto.ConversationDTO;
+import de.tum.userservice.metrics.TimedOperation;
 import de.tum.userservice.user.UserEntity;
 import de.tum.userservice.user.UserRepository;
 
@@ -16,6 +17,7 @@ import io.micrometer.core.instrument.MeterRegistry;
 
 
 @Service
+@TimedOperation
 public class ConversationService {
     private final UserRepository userRepository;
     private final ConversationRepository conversationRepository;
@@ -0,0 +1,108 @@
+package de.tum.userservice.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public controller method, and service methods marked {@link TimedOperation}, in one meter,
+ * {@code user_service_method_duration_seconds}, tagged with layer, class, method, outcome,
+ * HTTP status (controllers only) and exception. Controller timers publish a percentile histogram and
+ * the SLO buckets from {@code application.metrics.slo-ms}. The hand-written per-operation meters stay
+ * as they are; this adds coverage, not replacements.
+ */
+@Aspect
+@Component
+public class MethodTimingAspect {
+
+    private static final String METRIC = "user_service_method_duration_seconds";
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<Method, Meter.MeterProvider<Timer>> timers = new ConcurrentHashMap<>();
+    private final Duration[] slos;
+
+    public MethodTimingAspect(MeterRegistry registry,
+                              @Value("${application.metrics.slo-ms:10,25,50,100,250,500,1000,2500}") long[] sloMs) {
+        this.registry = registry;
+        this.slos = Arrays.stream(sloMs).mapToObj(Duration::ofMillis).toArray(Duration[]::new);
+    }
+
+    @Around("execution(public * de.tum.userservice..*(..)) && @within(org.springframework.web.bind.annotation.RestController)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "controller");
+    }
+
+    @Around("execution(public * de.tum.userservice..*(..)) && @within(org.springframework.stereotype.Service)"
+            + " && (@within(de.tum.userservice.metrics.TimedOperation) || @annotation(de.tum.userservice.metrics.TimedOperation))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "service");
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long start = System.nanoTime();
+        String outcome = "success";
+        String status = "none";
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            if (layer.equals("controller")) {
+                status = statusOf(result);
+            }
+            return result;
+        } catch (Throwable t) {
+            outcome = "error";
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            timers.computeIfAbsent(method, m -> timer(m, layer))
+                    .withTags("outcome", outcome, "status", status, "exception", exception)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Meter.MeterProvider<Timer> timer(Method method, String layer) {
+        Timer.Builder builder = Timer.builder(METRIC)
+                .description("Latency of controller and service methods")
+                .tag("layer", layer)
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName());
+        // distributions only where latency is user-facing; service timers keep count, sum and max
+        if (layer.equals("controller")) {
+            builder.publishPercentileHistogram().serviceLevelObjectives(slos);
+        }
+        return builder.withRegistry(registry);
+    }
+
+    // handlers that write to the response themselves leave the status on the servlet response
+    private static String statusOf(Object result) {
+        if (result instanceof ResponseEntity<?> entity) {
+            return Integer.toString(entity.getStatusCode().value());
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            HttpServletResponse response = servlet.getResponse();
+            if (response != null) {
+                return Integer.toString(response.getStatus());
+            }
+        }
+        return "none";
+    }
+}
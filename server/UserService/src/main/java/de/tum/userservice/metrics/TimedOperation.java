@@ -0,0 +1,17 @@
+package de.tum.userservice.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts a service class or method into {@link MethodTimingAspect}. Controllers are always timed;
+ * services only where marked, so per-event paths called many times per request stay untimed.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface TimedOperation {
+}
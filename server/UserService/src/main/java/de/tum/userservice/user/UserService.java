@@ -1,5 +1,6 @@
 package de.tum.userservice.user;
 
+import de.tum.userservice.metrics.TimedOperation;
 import org.springframework.stereotype.Service;
 
 import io.micrometer.core.instrument.Counter;
@@ -7,6 +8,7 @@ import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.MeterRegistry;
 
 @Service
+@TimedOperation
 public class UserService {
     private final UserRepository repository;
 
@@ -6,6 +6,8 @@ import de.tum.userservice.conversation.ChatMessageEntity;
 import de.tum.userservice.conversation.ConversationRepository;
 import de.tum.userservice.conversation.Role;
 import de.tum.userservice.conversation.dto.PromptDTO;
+import de.tum.userservice.support.QueryBudget;
+import de.tum.userservice.support.QueryBudgetConfiguration;
 import de.tum.userservice.user.UserEntity;
 import de.tum.userservice.user.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -28,6 +31,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@Import(QueryBudgetConfiguration.class)
 class ConversationControllerIT {
 
     @Autowired
@@ -42,6 +46,9 @@ class ConversationControllerIT {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    QueryBudget queryBudget;
+
     @BeforeEach
     void cleanDb() {
         conversationRepository.deleteAll();
@@ -132,6 +139,55 @@ class ConversationControllerIT {
                 .andExpect(jsonPath("$.conversationId").value(conv.getConversationId()));
     }
 
+    @Test
+    @WithMockUser(username = "test.user@tum.de")
+    void getConversation_whenOwner_shouldStayWithinQueryBudget() throws Exception {
+        UserEntity user = userRepository.save(new UserEntity(null, "test.user@tum.de",
+                "Test", "User", null, null));
+
+        Instant now = Instant.now();
+        ConversationEntity conv = ConversationEntity.builder()
+                .userId(user.getId())
+                .title("Chat")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        for (int i = 0; i < 5; i++) {
+            conv.getMessages().add(ChatMessageEntity.builder()
+                    .conversation(conv)
+                    .role(Role.USER)
+                    .content("Message " + i)
+                    .createdAt(now)
+                    .build());
+        }
+        conversationRepository.save(conv);
+
+        // ownership check (conversation + caller), then the messages collection in one statement
+        queryBudget.assertAtMost(3, () -> mockMvc.perform(get("/conversations/{id}", conv.getConversationId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.messages.length()").value(5)));
+    }
+
+    @Test
+    @WithMockUser(username = "test.user@tum.de")
+    void getConversationHistory_whenUserIsSelf_shouldStayWithinQueryBudget() throws Exception {
+        UserEntity user = userRepository.save(new UserEntity(null, "test.user@tum.de",
+                "Test", "User", null, null));
+        for (int i = 0; i < 5; i++) {
+            conversationRepository.save(ConversationEntity.builder()
+                    .userId(user.getId())
+                    .title("Chat " + i)
+                    .createdAt(Instant.now())
+                    .updatedAt(Instant.now())
+                    .build());
+        }
+
+        // caller lookup, user existence check and one projection query, independent of history length
+        queryBudget.assertAtMost(3, () -> mockMvc.perform(get("/conversations/h/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5)));
+    }
+
     @Test
     @WithMockUser(username = "attacker@tum.de")
     void getConversation_whenNotOwner_shouldBeForbidden() throws Exception {
@@ -2,12 +2,15 @@ package de.tum.userservice;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.tum.userservice.user.UserEntity;
+import de.tum.userservice.support.QueryBudget;
+import de.tum.userservice.support.QueryBudgetConfiguration;
 import de.tum.userservice.user.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -19,6 +22,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test") // Activate the test profile to use H2
+@Import(QueryBudgetConfiguration.class)
 class UserControllerIT {
 
     @Autowired
@@ -30,6 +34,9 @@ class UserControllerIT {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private QueryBudget queryBudget;
+
     // Clean the repository before each test
     @BeforeEach
     void setUp() {
@@ -71,6 +78,16 @@ class UserControllerIT {
                 .andExpect(jsonPath("$.email").value("test.user@tum.de"));
     }
 
+    @Test
+    @WithMockUser(username = "test.user@tum.de")
+    void getById_whenUserIsSelf_shouldStayWithinQueryBudget() throws Exception {
+        UserEntity savedUser = userRepository.save(new UserEntity(null, "test.user@tum.de", "Test", "User", null, null));
+
+        // ownership check by email; the lookup by id is then served from the open session
+        queryBudget.assertAtMost(2, () -> mockMvc.perform(get("/profiles/{id}", savedUser.getId()))
+                .andExpect(status().isOk()));
+    }
+
     @Test
     @WithMockUser(username = "attacker@tum.de")
     void getById_whenUserIsNotSelf_shouldBeForbidden() throws Exception {
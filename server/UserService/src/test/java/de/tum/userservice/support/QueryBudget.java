@@ -0,0 +1,89 @@
+package de.tum.userservice.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Records the JDBC executions a test action issues and fails the test when they exceed a budget. Only
+ * the calling thread is recorded; MockMvc handles the request on the test thread. A JDBC batch counts
+ * as one execution.
+ *
+ * <pre>{@code
+ * queryBudget.assertAtMost(3, () -> mockMvc.perform(get("/conversations/{id}", id))
+ *         .andExpect(status().isOk()));
+ * }</pre>
+ */
+public class QueryBudget implements QueryExecutionListener {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private final ThreadLocal<List<String>> recording = new ThreadLocal<>();
+
+    /** Runs the action and returns the fingerprints of the statements it executed, in order. */
+    public List<String> record(Action action) throws Exception {
+        List<String> statements = new ArrayList<>();
+        recording.set(statements);
+        try {
+            action.run();
+        } finally {
+            recording.remove();
+        }
+        return statements;
+    }
+
+    public void assertAtMost(int maxStatements, Action action) throws Exception {
+        List<String> statements = record(action);
+        if (statements.size() > maxStatements) {
+            throw new AssertionError(report(maxStatements, statements));
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<String> statements = recording.get();
+        if (statements != null && !queryInfoList.isEmpty()) {
+            statements.add(fingerprint(queryInfoList.get(0).getQuery()));
+        }
+    }
+
+    // literals become ?, whitespace and case are folded, so repeated lookups group together
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ");
+        return normalized.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String report(int maxStatements, List<String> statements) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        statements.forEach(statement -> counts.merge(statement, 1, Integer::sum));
+
+        StringBuilder message = new StringBuilder()
+                .append("Expected at most ").append(maxStatements).append(" statements but ")
+                .append(statements.size()).append(" were executed:");
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> message.append(System.lineSeparator())
+                        .append(String.format("  %3d x %s", entry.getValue(), entry.getKey())));
+        return message.toString();
+    }
+}
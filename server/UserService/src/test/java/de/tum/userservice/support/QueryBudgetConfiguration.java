@@ -0,0 +1,39 @@
+package de.tum.userservice.support;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Adds a {@link QueryBudget} to the test context and routes the data source through a proxy that
+ * reports every execution to it.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryBudgetConfiguration {
+
+    @Bean
+    public QueryBudget queryBudget() {
+        return new QueryBudget();
+    }
+
+    @Bean
+    public static BeanPostProcessor queryBudgetDataSourceProxy(ObjectProvider<QueryBudget> queryBudget) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(queryBudget.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}